@@ -0,0 +1,31 @@
+package com.alshadows.product.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Enveloppe de pagination allégée : seules les informations utiles au client sont sérialisées,
+ * contrairement à PageImpl qui expose aussi pageable, sort et ses drapeaux internes.
+ */
+@Getter
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages()
+        );
+    }
+}
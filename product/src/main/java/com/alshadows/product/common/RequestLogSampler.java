@@ -0,0 +1,30 @@
+package com.alshadows.product.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Échantillonnage des logs de requêtes courantes : pour chaque endpoint, une requête sur N est journalisée.
+ * Avec un taux de 1 (valeur par défaut), toutes les requêtes sont journalisées.
+ */
+@Component
+public class RequestLogSampler {
+
+    private final int sampleRate;
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public RequestLogSampler(@Value("${app.logging.request-sample-rate:1}") int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public boolean shouldLog(String endpoint) {
+        if (sampleRate == 1) {
+            return true;
+        }
+        return counters.computeIfAbsent(endpoint, key -> new AtomicLong())
+                .getAndIncrement() % sampleRate == 0;
+    }
+}
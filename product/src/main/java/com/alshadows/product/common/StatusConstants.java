@@ -10,6 +10,8 @@ public class StatusConstants {
     public static final String AUTH_SUCCESS = "AUTH_SUCCESS";
     public static final String AUTH_WIN = "Authentification réussie";
     public static final String PRODUCT_DELETE_SUCCESS = "PRODUCT_DELETE_SUCCESS";
+    public static final String PRODUCT_BULK_DELETE_SUCCESS = "PRODUCT_BULK_DELETE_SUCCESS";
+    public static final String PRODUCT_BULK_REPRICE_SUCCESS = "PRODUCT_BULK_REPRICE_SUCCESS";
 
 
 
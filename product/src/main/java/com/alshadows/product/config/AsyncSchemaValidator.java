@@ -0,0 +1,41 @@
+package com.alshadows.product.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Valide le schéma de la base par rapport aux entités une fois l'application prête,
+ * dans un thread dédié, au lieu de l'introspection faite au démarrage par {@code ddl-auto}.
+ * Un écart est journalisé en erreur sans arrêter l'instance, qui sert déjà des requêtes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.schema.validate-async", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncSchemaValidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateInBackground() {
+        Thread thread = new Thread(this::validate, "schema-validator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void validate() {
+        long start = System.nanoTime();
+        try {
+            entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().validateMappedObjects();
+            log.info("Database schema validated in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Database schema does not match entity mappings: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.alshadows.product.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender asynchrone Logback qui compte les événements abandonnés au lieu de bloquer le thread
+ * de la requête. Les compteurs sont statiques car Logback instancie l'appender hors du contexte
+ * Spring ; ils sont exposés comme métriques par {@link LoggingMetricsConfig}.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    // Événements TRACE à INFO écartés parce que la file a dépassé le seuil de rejet.
+    static final LongAdder DISCARDED = new LongAdder();
+    // Événements perdus parce que la file était pleine (neverBlock).
+    static final LongAdder OVERFLOWED = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            DISCARDED.increment();
+            return;
+        }
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            OVERFLOWED.increment();
+        }
+        super.append(event);
+    }
+}
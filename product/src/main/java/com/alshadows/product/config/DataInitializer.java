@@ -5,10 +5,17 @@ import com.alshadows.product.model.User;
 import com.alshadows.product.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Crée les comptes admin/user par défaut sur une base vide.
+ * Désactivable avec {@code app.init.seed-users=false} pour sortir le count() et les hachages BCrypt
+ * du démarrage des instances qui n'en ont pas besoin.
+ */
 @Component
+@ConditionalOnProperty(name = "app.init.seed-users", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
 
@@ -0,0 +1,35 @@
+package com.alshadows.product.config;
+
+import com.alshadows.product.services.HotKeyTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint /actuator/hotkeys : produits et termes de recherche les plus demandés sur la fenêtre glissante,
+ * avec leur nombre estimé d'occurrences et leur débit par seconde.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final HotKeyTracker hotKeyTracker;
+
+    @ReadOperation
+    public Map<String, Object> hotKeys(@Nullable Integer limit) {
+        int size = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("window", hotKeyTracker.getWindow().toString());
+        result.put("products", hotKeyTracker.topProducts(size));
+        result.put("searchTerms", hotKeyTracker.topSearchTerms(size));
+        return result;
+    }
+}
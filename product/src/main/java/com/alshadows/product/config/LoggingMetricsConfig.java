@@ -0,0 +1,24 @@
+package com.alshadows.product.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingMetricsConfig {
+
+    @Bean
+    public MeterBinder droppedLogEventsMetrics() {
+        return registry -> {
+            FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.DISCARDED, adder -> adder.sum())
+                    .tag("reason", "discarded")
+                    .description("Log events below WARN dropped because the async queue was nearly full")
+                    .register(registry);
+            FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.OVERFLOWED, adder -> adder.sum())
+                    .tag("reason", "queue_full")
+                    .description("Log events lost because the async queue was full")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.alshadows.product.config;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Sérialiseur dédié de {@link ProductResponse}, l'objet le plus sérialisé de l'API (listes et détail).
+ * Les noms de champs sont pré-encodés et les dates sont écrites au format ISO-8601 de Jackson
+ * ({@code 2025-01-31T10:15:30.123}) dans un tampon réutilisé par thread, sans passer par DateTimeFormatter
+ * qui allouait l'essentiel de la mémoire d'une page de produits. Les champs null sont omis,
+ * comme le prévoit {@code spring.jackson.default-property-inclusion}.
+ */
+@JsonComponent
+public class ProductResponseSerializer extends JsonSerializer<ProductResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString CREATION_DATE = new SerializedString("creationDate");
+    private static final SerializableString UPDATE_DATE = new SerializedString("updateDate");
+
+    // "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn"
+    private static final int MAX_DATE_LENGTH = 29;
+    private static final ThreadLocal<char[]> DATE_BUFFER = ThreadLocal.withInitial(() -> new char[MAX_DATE_LENGTH]);
+
+    @Override
+    public void serialize(ProductResponse product, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(product);
+        if (product.getId() != null) {
+            gen.writeFieldName(ID);
+            gen.writeNumber(product.getId());
+        }
+        if (product.getName() != null) {
+            gen.writeFieldName(NAME);
+            gen.writeString(product.getName());
+        }
+        if (product.getDescription() != null) {
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(product.getDescription());
+        }
+        if (product.getPrice() != null) {
+            gen.writeFieldName(PRICE);
+            gen.writeNumber(product.getPrice());
+        }
+        writeDate(CREATION_DATE, product.getCreationDate(), gen, provider);
+        writeDate(UPDATE_DATE, product.getUpdateDate(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static void writeDate(SerializableString name, LocalDateTime date, JsonGenerator gen,
+                                  SerializerProvider provider) throws IOException {
+        if (date == null) {
+            return;
+        }
+        // Années hors 0000-9999 (signe, chiffres supplémentaires) ou dates en timestamps : format standard de Jackson
+        if (date.getYear() < 0 || date.getYear() > 9999
+                || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeField(name.getValue(), date, gen);
+            return;
+        }
+        char[] buffer = DATE_BUFFER.get();
+        int length = formatIsoLocalDateTime(date, buffer);
+        gen.writeFieldName(name);
+        gen.writeString(buffer, 0, length);
+    }
+
+    /**
+     * Écrit la date comme {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME} : secondes toujours présentes,
+     * fraction omise si nulle, sinon sans zéros finaux.
+     */
+    static int formatIsoLocalDateTime(LocalDateTime date, char[] buffer) {
+        int position = 0;
+        position = writeDigits(buffer, position, date.getYear(), 4);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, date.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, date.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(buffer, position, date.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, date.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, date.getSecond(), 2);
+
+        int nanos = date.getNano();
+        if (nanos > 0) {
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(buffer, position, nanos, digits);
+        }
+        return position;
+    }
+
+    private static int writeDigits(char[] buffer, int position, int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+}
@@ -0,0 +1,82 @@
+package com.alshadows.product.controller;
+
+import com.alshadows.product.common.ApiResponse;
+import com.alshadows.product.common.StatusConstants;
+import com.alshadows.product.dto.product.BulkDeleteRequest;
+import com.alshadows.product.dto.product.BulkOperationResponse;
+import com.alshadows.product.dto.product.BulkRepriceRequest;
+import com.alshadows.product.services.ProductBulkService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Contrôleur d'administration du catalogue.
+ * Expose les opérations de masse, réservées au rôle ADMIN (voir SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/v1/admin/products")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminProductController {
+
+    // Service des opérations de masse sur les produits.
+    private final ProductBulkService productBulkService;
+
+    /**
+     * Supprime en masse les produits désignés par une liste d'ids ou par un filtre.
+     * La suppression est exécutée par lots ; en mode "soft", les produits sont seulement marqués
+     * supprimés puis purgés en tâche de fond.
+     *
+     * @param request La liste d'ids ou le filtre des produits à supprimer.
+     * @return Une réponse contenant le nombre de produits supprimés et le nombre de lots exécutés.
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteProducts(
+            @Valid @RequestBody BulkDeleteRequest request) {
+        log.info("Bulk delete requested");
+
+        BulkOperationResponse result = productBulkService.deleteProducts(request);
+
+        ApiResponse<BulkOperationResponse> response = new ApiResponse<>(
+                StatusConstants.REQUEST_SUCCESS_STATUS,
+                StatusConstants.PRODUCT_BULK_DELETE_SUCCESS,
+                "Produits supprimés avec succès",
+                result,
+                null
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Change en masse le prix des produits : prix absolu ou pourcentage appliqué à une liste d'ids ou à un filtre,
+     * ou nouveau prix par id. Chaque lot est une requête UPDATE dans sa propre transaction ;
+     * la date de mise à jour des produits modifiés est renseignée.
+     *
+     * @param request Le mode, la valeur ou les prix par id, et les produits concernés.
+     * @return Une réponse contenant le nombre de produits modifiés et le nombre de lots exécutés.
+     */
+    @PostMapping("/reprice")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> repriceProducts(
+            @Valid @RequestBody BulkRepriceRequest request) {
+        log.info("Bulk repricing requested");
+
+        BulkOperationResponse result = productBulkService.repriceProducts(request);
+
+        ApiResponse<BulkOperationResponse> response = new ApiResponse<>(
+                StatusConstants.REQUEST_SUCCESS_STATUS,
+                StatusConstants.PRODUCT_BULK_REPRICE_SUCCESS,
+                "Prix des produits modifiés avec succès",
+                result,
+                null
+        );
+
+        return ResponseEntity.ok(response);
+    }
+}
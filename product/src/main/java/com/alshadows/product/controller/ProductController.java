@@ -1,9 +1,15 @@
 package com.alshadows.product.controller;
 
 import com.alshadows.product.common.ApiResponse;
+import com.alshadows.product.common.PageResponse;
+import com.alshadows.product.common.RequestLogSampler;
 import com.alshadows.product.common.StatusConstants;
 import com.alshadows.product.dto.product.ProductDTO;
 import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductStatsResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
+import com.alshadows.product.exceptions.ProductException;
+import com.alshadows.product.services.IdempotencyStore;
 import com.alshadows.product.services.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +22,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,27 +35,48 @@ import java.util.Map;
 @Slf4j
 public class ProductController {
 
+    // Nombre maximal de suggestions renvoyées par l'autocomplétion.
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+    private static final String SEARCH_PATH = PRODUCTS_PATH + "/search?searchTerm=";
+
+    // Liens invariants, partagés par toutes les réponses plutôt que recréés à chaque requête.
+    private static final Map<String, String> COLLECTION_LINKS = Map.of("products", PRODUCTS_PATH);
+    private static final Map<String, String> LIST_SELF_LINKS = Map.of("self", PRODUCTS_PATH);
+
     // Service pour effectuer les opérations sur les produits.
     private final ProductService productService;
 
+    // Échantillonne les logs des lectures, journalisées à chaque requête par défaut.
+    private final RequestLogSampler logSampler;
+
+    // Réponses mémorisées des écritures portant un en-tête Idempotency-Key.
+    private final IdempotencyStore idempotencyStore;
+
     /**
      * Crée un nouveau produit.
      *
-     * @param productDto Les données du produit à créer, validées via @Valid.
+     * @param productDto     Les données du produit à créer, validées via @Valid.
+     * @param idempotencyKey Clé optionnelle : un renvoi avec la même clé et le même contenu
+     *                       reçoit la réponse d'origine sans recréer le produit.
      * @return Une réponse contenant les détails du produit créé.
      */
     @PostMapping
     public ResponseEntity<ApiResponse<ProductResponse>> createProduct(
-            @Valid @RequestBody ProductDTO productDto) {
+            @Valid @RequestBody ProductDTO productDto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "POST /api/v1/products", productDto,
+                () -> doCreateProduct(productDto));
+    }
+
+    private ResponseEntity<ApiResponse<ProductResponse>> doCreateProduct(ProductDTO productDto) {
         log.info("Creating new product with name: {}", productDto.getName());
 
         ProductResponse createdProduct = productService.createProduct(productDto);
 
         // Génère des liens pour les actions possibles sur ce produit
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/api/v1/products/" + createdProduct.getId());
-        links.put("update", "/api/v1/products/" + createdProduct.getId());
-        links.put("delete", "/api/v1/products/" + createdProduct.getId());
+        Map<String, String> links = productLinks(createdProduct.getId());
 
         // Crée la réponse API
         ApiResponse<ProductResponse> response = new ApiResponse<>(
@@ -73,16 +100,15 @@ public class ProductController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponse>> getProduct(@PathVariable Long id) {
-        log.info("Fetching product with id: {}", id);
+        if (logSampler.shouldLog("getProduct")) {
+            log.info("Fetching product with id: {}", id);
+        }
 
         // Récupère le produit via le service
         ProductResponse product = productService.getProduct(id);
 
         // Génère des liens pour ce produit
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/api/v1/products/" + id);
-        links.put("update", "/api/v1/products/" + id);
-        links.put("delete", "/api/v1/products/" + id);
+        Map<String, String> links = productLinks(id);
 
         // Crée la réponse API
         ApiResponse<ProductResponse> response = new ApiResponse<>(
@@ -99,23 +125,30 @@ public class ProductController {
     /**
      * Met à jour un produit existant.
      *
-     * @param id         L'identifiant du produit à mettre à jour.
-     * @param productDto Les nouvelles données du produit.
+     * @param id             L'identifiant du produit à mettre à jour.
+     * @param productDto     Les nouvelles données du produit.
+     * @param idempotencyKey Clé optionnelle : un renvoi avec la même clé et le même contenu
+     *                       reçoit la réponse d'origine sans nouvelle mise à jour.
      * @return Une réponse contenant les détails du produit mis à jour.
      */
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponse>> updateProduct(
             @PathVariable Long id,
-            @Valid @RequestBody ProductDTO productDto) {
+            @Valid @RequestBody ProductDTO productDto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "PUT /api/v1/products/" + id, productDto,
+                () -> doUpdateProduct(id, productDto));
+    }
+
+    private ResponseEntity<ApiResponse<ProductResponse>> doUpdateProduct(Long id, ProductDTO productDto) {
         log.info("Updating product with id: {}", id);
 
         // Appelle le service pour mettre à jour le produit
         ProductResponse updatedProduct = productService.updateProduct(id, productDto);
 
         // Génère les liens
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/api/v1/products/" + id);
-        links.put("delete", "/api/v1/products/" + id);
+        String self = PRODUCTS_PATH + "/" + id;
+        Map<String, String> links = Map.of("self", self, "delete", self);
 
         // Crée la réponse API
         ApiResponse<ProductResponse> response = new ApiResponse<>(
@@ -143,8 +176,7 @@ public class ProductController {
         productService.deleteProduct(id);
 
         // Génère les liens
-        Map<String, String> links = new HashMap<>();
-        links.put("products", "/api/v1/products");
+        Map<String, String> links = COLLECTION_LINKS;
 
         // Crée la réponse API
         ApiResponse<Void> response = new ApiResponse<>(
@@ -164,35 +196,48 @@ public class ProductController {
      * @param page Le numéro de la page (défaut : 0).
      * @param size La taille de la page (défaut : 10).
      * @param sort Le champ de tri (défaut : id).
+     * @param minPrice Prix minimum inclus (optionnel).
+     * @param maxPrice Prix maximum inclus (optionnel).
      * @return Une réponse contenant une page de produits.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> getAllProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sort) {
-        log.info("Fetching products page: {}, size: {}, sort: {}", page, size, sort);
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice) {
+        if (logSampler.shouldLog("getAllProducts")) {
+            log.info("Fetching products page: {}, size: {}, sort: {}", page, size, sort);
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new ProductException("Le prix minimum dépasse le prix maximum", "INVALID_PRICE_RANGE");
+        }
 
         // Définit la pagination et le tri
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-        Page<ProductResponse> products = productService.getAllProducts(pageable);
+        boolean filtered = minPrice != null || maxPrice != null;
+        Page<ProductResponse> products = filtered
+                ? productService.getProductsByPrice(minPrice, maxPrice, pageable)
+                : productService.getAllProducts(pageable);
 
         // Génère les liens pour la navigation
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/api/v1/products");
-        if (products.hasNext()) {
-            links.put("next", "/api/v1/products?page=" + (page + 1) + "&size=" + size);
-        }
-        if (products.hasPrevious()) {
-            links.put("prev", "/api/v1/products?page=" + (page - 1) + "&size=" + size);
+        Map<String, String> links;
+        if (filtered) {
+            String self = PRODUCTS_PATH + "?" + priceQuery(minPrice, maxPrice);
+            links = pageLinks(self, self + "&", products, page, size);
+        } else {
+            links = products.hasNext() || products.hasPrevious()
+                    ? pageLinks(PRODUCTS_PATH, PRODUCTS_PATH + "?", products, page, size)
+                    : LIST_SELF_LINKS;
         }
 
         // Crée la réponse API
-        ApiResponse<Page<ProductResponse>> response = new ApiResponse<>(
+        ApiResponse<PageResponse<ProductResponse>> response = new ApiResponse<>(
                 StatusConstants.REQUEST_SUCCESS_STATUS,
                 StatusConstants.PRODUCT_FETCH_SUCCESS,
                 "Produits récupérés avec succès",
-                products,
+                PageResponse.of(products),
                 links
         );
 
@@ -208,37 +253,107 @@ public class ProductController {
      * @return Une réponse contenant les résultats de recherche paginés.
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> searchProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> searchProducts(
             @RequestParam String searchTerm,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        log.info("Searching products with term: {}, page: {}, size: {}", searchTerm, page, size);
+        if (logSampler.shouldLog("searchProducts")) {
+            log.info("Searching products with term: {}, page: {}, size: {}", searchTerm, page, size);
+        }
 
         // Définit la pagination
         Pageable pageable = PageRequest.of(page, size);
         Page<ProductResponse> products = productService.searchProducts(searchTerm, pageable);
 
         // Génère les liens pour la navigation
-        Map<String, String> links = new HashMap<>();
-        links.put("self", "/api/v1/products/search?searchTerm=" + searchTerm);
-        if (products.hasNext()) {
-            links.put("next", "/api/v1/products/search?searchTerm=" + searchTerm +
-                    "&page=" + (page + 1) + "&size=" + size);
-        }
-        if (products.hasPrevious()) {
-            links.put("prev", "/api/v1/products/search?searchTerm=" + searchTerm +
-                    "&page=" + (page - 1) + "&size=" + size);
-        }
+        String self = SEARCH_PATH + searchTerm;
+        Map<String, String> links = pageLinks(self, self + "&", products, page, size);
 
         // Crée la réponse API
-        ApiResponse<Page<ProductResponse>> response = new ApiResponse<>(
+        ApiResponse<PageResponse<ProductResponse>> response = new ApiResponse<>(
                 StatusConstants.REQUEST_SUCCESS_STATUS,
                 StatusConstants.PRODUCT_FETCH_SUCCESS,
                 "Résultats de recherche récupérés avec succès",
-                products,
+                PageResponse.of(products),
                 links
         );
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Suggère des produits dont le nom commence par le préfixe saisi.
+     * Servi depuis un index en mémoire, cet endpoint est destiné à l'autocomplétion à chaque frappe.
+     *
+     * @param prefix Le début du nom recherché (insensible à la casse et aux accents).
+     * @param limit  Le nombre maximal de suggestions (défaut : 10, maximum : 50).
+     * @return Une réponse contenant les suggestions triées par ordre alphabétique.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<ProductSuggestion>>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSuggestion> suggestions =
+                productService.suggestProducts(prefix, Math.max(0, Math.min(limit, MAX_SUGGESTIONS)));
+
+        ApiResponse<List<ProductSuggestion>> response = new ApiResponse<>(
+                StatusConstants.REQUEST_SUCCESS_STATUS,
+                StatusConstants.PRODUCT_FETCH_SUCCESS,
+                "Suggestions récupérées avec succès",
+                suggestions,
+                null
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Récupère les statistiques agrégées du catalogue : nombre de produits, prix minimum, maximum
+     * et moyen, ainsi que l'histogramme des prix par tranche.
+     *
+     * @return Une réponse contenant les statistiques, maintenues en mémoire.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<ProductStatsResponse>> getProductStats() {
+        ApiResponse<ProductStatsResponse> response = new ApiResponse<>(
+                StatusConstants.REQUEST_SUCCESS_STATUS,
+                StatusConstants.PRODUCT_FETCH_SUCCESS,
+                "Statistiques récupérées avec succès",
+                productService.getProductStats(),
+                null
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Liens d'un produit : une seule URL partagée par les trois entrées.
+    private static Map<String, String> productLinks(Long id) {
+        String self = PRODUCTS_PATH + "/" + id;
+        return Map.of("self", self, "update", self, "delete", self);
+    }
+
+    // Liens de navigation d'une page ; pageQueryPrefix se termine par "?" ou "&".
+    private static Map<String, String> pageLinks(String self, String pageQueryPrefix, Page<?> page,
+                                                 int number, int size) {
+        if (page.hasNext() && page.hasPrevious()) {
+            return Map.of("self", self,
+                    "next", pageQueryPrefix + "page=" + (number + 1) + "&size=" + size,
+                    "prev", pageQueryPrefix + "page=" + (number - 1) + "&size=" + size);
+        }
+        if (page.hasNext()) {
+            return Map.of("self", self, "next", pageQueryPrefix + "page=" + (number + 1) + "&size=" + size);
+        }
+        if (page.hasPrevious()) {
+            return Map.of("self", self, "prev", pageQueryPrefix + "page=" + (number - 1) + "&size=" + size);
+        }
+        return Map.of("self", self);
+    }
+
+    // Paramètres du filtre de prix, sans séparateur initial.
+    private static String priceQuery(Double minPrice, Double maxPrice) {
+        if (minPrice == null) {
+            return "maxPrice=" + maxPrice;
+        }
+        return maxPrice == null ? "minPrice=" + minPrice : "minPrice=" + minPrice + "&maxPrice=" + maxPrice;
+    }
 }
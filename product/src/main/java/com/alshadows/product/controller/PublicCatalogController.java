@@ -0,0 +1,229 @@
+package com.alshadows.product.controller;
+
+import com.alshadows.product.common.ApiResponse;
+import com.alshadows.product.common.PageResponse;
+import com.alshadows.product.common.StatusConstants;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.exceptions.ProductException;
+import com.alshadows.product.services.ProductService;
+import com.alshadows.product.services.PublicCatalogCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Controller du catalogue public, en lecture seule et sans authentification, destiné aux pages vitrine.
+ * Les réponses sont servies depuis {@link PublicCatalogCache}, déjà sérialisées et compressées (les recherches
+ * et les pages filtrées par prix seulement une fois redemandées), et portent
+ * un ETag et un en-tête Cache-Control pour que navigateurs et CDN les gardent aussi.
+ */
+@RestController
+@RequestMapping(PublicCatalogController.PUBLIC_PRODUCTS_PATH)
+public class PublicCatalogController {
+
+    static final String PUBLIC_PRODUCTS_PATH = "/api/v1/public/products";
+
+    // Champs triables ; les autres sont refusés pour ne pas multiplier les clés du cache.
+    private static final Set<String> SORT_FIELDS = Set.of("id", "name", "price", "creationDate", "updateDate");
+
+    private final ProductService productService;
+    private final PublicCatalogCache cache;
+    private final int maxPageSize;
+    private final CacheControl cacheControl;
+
+    public PublicCatalogController(ProductService productService,
+                                   PublicCatalogCache cache,
+                                   @Value("${app.catalog.public.max-page-size:100}") int maxPageSize,
+                                   @Value("${app.catalog.public.max-age:60s}") Duration maxAge) {
+        this.productService = productService;
+        this.cache = cache;
+        this.maxPageSize = maxPageSize;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Récupère une page du catalogue public.
+     *
+     * @param page           Le numéro de la page (défaut : 0).
+     * @param size           La taille de la page (défaut : 10, plafonnée par {@code app.catalog.public.max-page-size}).
+     * @param sort           Le champ de tri, suivi éventuellement de {@code ,asc} ou {@code ,desc} (défaut : id).
+     * @param minPrice       Prix minimum inclus (optionnel).
+     * @param maxPrice       Prix maximum inclus (optionnel).
+     * @param acceptEncoding Encodages acceptés par le client : le corps est envoyé en gzip s'il le permet.
+     * @return Le corps JSON de la réponse, tel qu'en cache.
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getProducts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new ProductException("Le prix minimum dépasse le prix maximum", "INVALID_PRICE_RANGE");
+        }
+        Pageable pageable = pageable(page, size, sort);
+        Sort.Order order = pageable.getSort().iterator().next();
+
+        // URL normalisée : tous les paramètres, dans un ordre fixe et avec leurs valeurs par défaut
+        StringBuilder query = new StringBuilder("?sort=")
+                .append(order.getProperty()).append(',').append(order.isAscending() ? "asc" : "desc");
+        if (minPrice != null) {
+            query.append("&minPrice=").append(minPrice);
+        }
+        if (maxPrice != null) {
+            query.append("&maxPrice=").append(maxPrice);
+        }
+        String self = PUBLIC_PRODUCTS_PATH + query;
+
+        boolean filtered = minPrice != null || maxPrice != null;
+        Supplier<Object> body = () -> {
+            Page<ProductResponse> products = filtered
+                    ? productService.getProductsByPrice(minPrice, maxPrice, pageable)
+                    : productService.getAllProducts(pageable);
+            return pageResponse(self, products, "Produits récupérés avec succès");
+        };
+        // Les bornes de prix sont libres : une page filtrée n'est gardée que si elle est redemandée
+        PublicCatalogCache.Response response = filtered
+                ? cache.getFrequent(pageUrl(self, pageable), body)
+                : cache.get(pageUrl(self, pageable), body);
+        return send(response, acceptEncoding);
+    }
+
+    /**
+     * Récupère les détails d'un produit du catalogue public.
+     *
+     * @param id             L'identifiant du produit.
+     * @param acceptEncoding Encodages acceptés par le client.
+     * @return Le corps JSON de la réponse, tel qu'en cache.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> getProduct(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String self = PUBLIC_PRODUCTS_PATH + "/" + id;
+        PublicCatalogCache.Response response = cache.get(self, () -> new ApiResponse<>(
+                StatusConstants.REQUEST_SUCCESS_STATUS,
+                StatusConstants.PRODUCT_FETCH_SUCCESS,
+                "Produit récupéré avec succès",
+                productService.getProduct(id),
+                Map.of("self", self, "products", PUBLIC_PRODUCTS_PATH)
+        ));
+        return send(response, acceptEncoding);
+    }
+
+    /**
+     * Recherche des produits dans le catalogue public.
+     *
+     * @param searchTerm     Le terme à rechercher (insensible à la casse).
+     * @param page           Le numéro de la page (défaut : 0).
+     * @param size           La taille de la page (défaut : 10).
+     * @param acceptEncoding Encodages acceptés par le client.
+     * @return Le corps JSON de la réponse, tel qu'en cache.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> searchProducts(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // La recherche ignore la casse : "Lampe" et "lampe" partagent la même entrée
+        String term = searchTerm.trim().toLowerCase(Locale.ROOT);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), maxPageSize));
+        String self = PUBLIC_PRODUCTS_PATH + "/search?searchTerm=" + URLEncoder.encode(term, StandardCharsets.UTF_8);
+
+        PublicCatalogCache.Response response = cache.getFrequent(pageUrl(self, pageable), () -> pageResponse(self,
+                productService.searchProducts(term, pageable), "Résultats de recherche récupérés avec succès"));
+        return send(response, acceptEncoding);
+    }
+
+    private Pageable pageable(int page, int size, String sort) {
+        String[] parts = sort.split(",", -1);
+        String direction = parts.length > 1 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+        if (parts.length > 2 || !SORT_FIELDS.contains(parts[0].trim())
+                || !(direction.equals("asc") || direction.equals("desc"))) {
+            throw new ProductException("Tri non pris en charge : " + sort, "INVALID_SORT");
+        }
+        Sort.Direction sortDirection = direction.equals("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), maxPageSize),
+                Sort.by(sortDirection, parts[0].trim()));
+    }
+
+    private ResponseEntity<byte[]> send(PublicCatalogCache.Response response, String acceptEncoding) {
+        boolean gzip = response.gzip() != null && acceptsGzip(acceptEncoding);
+        // Un ETag par représentation : la version gzip n'a pas les mêmes octets que le JSON
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(gzip ? response.etag() + "-gzip" : response.etag());
+        if (gzip) {
+            // Tomcat ne recompresse pas une réponse qui porte déjà un Content-Encoding
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return builder.body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String pageUrl(String self, Pageable pageable) {
+        return self + (self.contains("?") ? "&" : "?")
+                + "page=" + pageable.getPageNumber() + "&size=" + pageable.getPageSize();
+    }
+
+    private static ApiResponse<PageResponse<ProductResponse>> pageResponse(String self, Page<ProductResponse> products,
+                                                                           String message) {
+        Map<String, String> links;
+        if (products.hasNext() && products.hasPrevious()) {
+            links = Map.of("self", self,
+                    "next", pageUrl(self, products.nextPageable()),
+                    "prev", pageUrl(self, products.previousPageable()));
+        } else if (products.hasNext()) {
+            links = Map.of("self", self, "next", pageUrl(self, products.nextPageable()));
+        } else if (products.hasPrevious()) {
+            links = Map.of("self", self, "prev", pageUrl(self, products.previousPageable()));
+        } else {
+            links = Map.of("self", self);
+        }
+        return new ApiResponse<>(
+                StatusConstants.REQUEST_SUCCESS_STATUS,
+                StatusConstants.PRODUCT_FETCH_SUCCESS,
+                message,
+                PageResponse.of(products),
+                links
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package com.alshadows.product.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Routage lecture/écriture : les transactions marquées {@code readOnly = true} sont servies par les réplicas,
+ * toutes les autres par le primaire défini sous {@code spring.datasource}.
+ * Le proxy paresseux n'ouvre la connexion physique qu'à la première requête, une fois le caractère
+ * lecture seule de la transaction connu.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(ReadReplicaProperties properties,
+                                               HikariDataSource primaryDataSource,
+                                               ReadYourWritesTracker readYourWritesTracker,
+                                               TaskScheduler taskScheduler) {
+        List<HikariDataSource> replicas = properties.getReplicas().stream()
+                .map(ReadReplicaDataSourceConfig::createReplicaPool)
+                .toList();
+        ReplicaDataSource replicaDataSource = new ReplicaDataSource(primaryDataSource, replicas, readYourWritesTracker);
+        taskScheduler.scheduleWithFixedDelay(replicaDataSource::checkHealth, properties.getHealthCheckInterval());
+        return replicaDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaDataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        LazyConnectionDataSourceProxy routingDataSource =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker));
+        routingDataSource.setReadOnlyDataSource(replicaDataSource);
+        return routingDataSource;
+    }
+
+    private static HikariDataSource createReplicaPool(ReadReplicaProperties.Replica replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        dataSource.setValidationTimeout(replica.getValidationTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica-" + replica.getUrl());
+        // Ne bloque pas le démarrage si un réplica est indisponible : le contrôle de santé prendra le relais
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+}
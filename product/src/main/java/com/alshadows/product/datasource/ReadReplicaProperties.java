@@ -0,0 +1,42 @@
+package com.alshadows.product.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration du routage des transactions en lecture seule vers les réplicas PostgreSQL.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+
+    // Après une écriture, les lectures du même utilisateur restent sur le primaire pendant cette durée
+    // (0 pour désactiver).
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // Attente maximale d'une connexion du pool : courte pour qu'un réplica injoignable pas encore marqué
+        // indisponible fasse basculer rapidement sur le primaire au lieu de bloquer la requête 30 s (défaut Hikari).
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+        // Validation d'une connexion, par le pool comme par le contrôle de santé ; inférieure à connectionTimeout.
+        private Duration validationTimeout = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,112 @@
+package com.alshadows.product.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Source de données des transactions en lecture seule : répartit les connexions entre les réplicas
+ * en bonne santé (tourniquet) et se rabat sur le primaire si aucun n'est disponible
+ * ou si l'utilisateur courant vient d'écrire.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    // Copié à chaque changement d'état pour rester lisible sans verrou.
+    private volatile boolean[] healthy;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                             ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new boolean[replicas.size()];
+        this.readYourWritesTracker = readYourWritesTracker;
+        Arrays.fill(healthy, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWritesTracker.isEnabled() && readYourWritesTracker.currentUserWroteRecently()) {
+            return primary.getConnection();
+        }
+
+        boolean[] currentHealth = healthy;
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (!currentHealth[index]) {
+                continue;
+            }
+            try {
+                return replicas.get(index).getConnection();
+            } catch (SQLException e) {
+                markHealth(index, false, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Non pris en charge, comme par les pools Hikari sous-jacents : les connexions utilisent les identifiants configurés.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    /**
+     * Vérifie chaque réplica (connexion obtenue et validée dans les délais de son pool) et met à jour son état.
+     * Appelé périodiquement par la configuration.
+     */
+    public void checkHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            HikariDataSource replica = replicas.get(i);
+            // isValid attend des secondes entières : délai de validation du pool arrondi au supérieur
+            int validationSeconds = (int) Math.max(1, (replica.getValidationTimeout() + 999) / 1000);
+            try (Connection connection = replica.getConnection()) {
+                markHealth(i, connection.isValid(validationSeconds), "connection not valid");
+            } catch (SQLException e) {
+                markHealth(i, false, e.getMessage());
+            }
+        }
+        readYourWritesTracker.evictExpired();
+    }
+
+    public long healthyReplicaCount() {
+        int count = 0;
+        for (boolean replicaHealthy : healthy) {
+            count += replicaHealthy ? 1 : 0;
+        }
+        return count;
+    }
+
+    private synchronized void markHealth(int index, boolean isHealthy, String reason) {
+        if (healthy[index] != isHealthy) {
+            if (isHealthy) {
+                log.info("Read replica {} is back, routing read-only transactions to it", replicas.get(index).getJdbcUrl());
+            } else {
+                log.warn("Read replica {} is unavailable ({}), falling back", replicas.get(index).getJdbcUrl(), reason);
+            }
+        }
+        boolean[] updated = healthy.clone();
+        updated[index] = isHealthy;
+        healthy = updated;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
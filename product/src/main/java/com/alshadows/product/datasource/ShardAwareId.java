@@ -0,0 +1,18 @@
+package com.alshadows.product.datasource;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id généré par {@link ShardAwareIdGenerator} : colonne identité de la base sans partitionnement,
+ * id portant sa base avec {@code app.datasource.sharding.enabled=true}.
+ */
+@IdGeneratorType(ShardAwareIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardAwareId {
+}
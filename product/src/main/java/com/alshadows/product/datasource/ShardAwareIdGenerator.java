@@ -0,0 +1,60 @@
+package com.alshadows.product.datasource;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Générateur d'ids des produits. Sans {@link ShardIdAllocator} dans la configuration Hibernate
+ * (clé {@link #ALLOCATOR_SETTING}, posée par {@link ShardingDataSourceConfig}), il se comporte comme
+ * {@code GenerationType.IDENTITY}. Sinon l'id est attribué avant l'insertion : l'id réservé par
+ * {@link ShardContext#call(int, Long, java.util.function.Supplier)}, ou un nouvel id de la base courante.
+ */
+public class ShardAwareIdGenerator extends IdentityGenerator implements BeforeExecutionGenerator {
+
+    public static final String ALLOCATOR_SETTING = "app.datasource.sharding.id-allocator";
+
+    private final transient ShardIdAllocator allocator;
+
+    // Constructeur reconnu par @IdGeneratorType (types exacts), préféré par Hibernate au constructeur sans argument
+    public ShardAwareIdGenerator(ShardAwareId annotation, Member member, CustomIdGeneratorCreationContext context) {
+        this.allocator = (ShardIdAllocator) context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(ALLOCATOR_SETTING);
+        if (allocator == null) {
+            // Hibernate ne déclare la colonne identité (ddl-auto) que pour @GeneratedValue(strategy = IDENTITY)
+            context.getPersistentClass().getIdentifier().getColumns().forEach(column -> column.setIdentity(true));
+        }
+    }
+
+    @Override
+    public boolean generatedOnExecution() {
+        return allocator == null;
+    }
+
+    @Override
+    public boolean generatedOnExecution(Object owner, SharedSessionContractImplementor session) {
+        return generatedOnExecution();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        Long reservedId = ShardContext.takeReservedId();
+        if (reservedId != null) {
+            return reservedId;
+        }
+        return allocator.nextId(ShardContext.current());
+    }
+}
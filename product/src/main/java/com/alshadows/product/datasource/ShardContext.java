@@ -0,0 +1,66 @@
+package com.alshadows.product.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Base (shard) sur laquelle le thread courant ouvre ses connexions, lue par {@link ShardRoutingDataSource}.
+ * À positionner avant l'ouverture de la transaction : une transaction reste sur la base de sa première connexion.
+ * Sans base positionnée, les connexions vont sur la base d'accueil.
+ */
+public final class ShardContext {
+
+    public static final int HOME_SHARD = 0;
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+    // Id réservé pour la prochaine insertion de produit, consommé par ShardAwareIdGenerator
+    private static final ThreadLocal<Long> RESERVED_ID = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = SHARD.get();
+        return shard != null ? shard : HOME_SHARD;
+    }
+
+    public static <T> T call(int shard, Supplier<T> action) {
+        return call(shard, null, action);
+    }
+
+    /**
+     * Exécute l'action sur la base donnée ; le produit inséré par l'action reçoit {@code reservedId}.
+     */
+    public static <T> T call(int shard, Long reservedId, Supplier<T> action) {
+        Integer previousShard = SHARD.get();
+        Long previousId = RESERVED_ID.get();
+        SHARD.set(shard);
+        RESERVED_ID.set(reservedId);
+        try {
+            return action.get();
+        } finally {
+            restore(SHARD, previousShard);
+            restore(RESERVED_ID, previousId);
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static Long takeReservedId() {
+        Long id = RESERVED_ID.get();
+        RESERVED_ID.remove();
+        return id;
+    }
+
+    private static <T> void restore(ThreadLocal<T> holder, T previous) {
+        if (previous != null) {
+            holder.set(previous);
+        } else {
+            holder.remove();
+        }
+    }
+}
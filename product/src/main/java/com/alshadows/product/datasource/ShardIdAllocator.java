@@ -0,0 +1,84 @@
+package com.alshadows.product.datasource;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Génère des ids de produits uniques entre instances et bases, qui portent leur base :
+ * {@code [millisecondes depuis 2025 : 40 bits][instance : 4 bits][base : 4 bits][séquence : 5 bits]}.
+ * Les ids restent sous 2^53, donc exacts une fois lus en JavaScript par le frontend,
+ * et croissent avec le temps, ce qui garde l'insertion en fin d'index.
+ * Les millisecondes forment une horloge logique : elles ne reculent pas avec l'horloge système, et une milliseconde
+ * dont la séquence est épuisée est suivie de la prochaine sans l'attendre, dans la limite de
+ * {@link #MAX_BORROWED_MILLIS} d'avance sur la plus grande heure lue.
+ */
+public class ShardIdAllocator {
+
+    public static final int MAX_SHARDS = 16;
+    public static final int MAX_NODES = 16;
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int SEQUENCE_BITS = 5;
+    private static final int SHARD_BITS = 4;
+    private static final int NODE_BITS = 4;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    // Bien plus court qu'un redémarrage : une nouvelle instance ne peut pas reprendre des millisecondes empruntées
+    static final long MAX_BORROWED_MILLIS = 1_000;
+
+    private final int nodeId;
+    private final LongSupplier clock;
+    // Plus grande heure lue, en millisecondes depuis 2025
+    private long clockMillis;
+    // Par base : dernière milliseconde utilisée et séquence dans cette milliseconde
+    private final long[] lastMillis;
+    private final long[] sequences;
+
+    public ShardIdAllocator(int nodeId, int shardCount) {
+        this(nodeId, shardCount, System::currentTimeMillis);
+    }
+
+    ShardIdAllocator(int nodeId, int shardCount, LongSupplier clock) {
+        if (nodeId < 0 || nodeId >= MAX_NODES) {
+            throw new IllegalArgumentException("Sharding node id must be between 0 and " + (MAX_NODES - 1));
+        }
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Sharding supports between 1 and " + MAX_SHARDS + " shards");
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.lastMillis = new long[shardCount];
+        this.sequences = new long[shardCount];
+    }
+
+    public synchronized long nextId(int shard) {
+        clockMillis = Math.max(clockMillis, clock.getAsLong() - EPOCH_MILLIS);
+        long millis = Math.max(clockMillis, lastMillis[shard]);
+        if (millis == lastMillis[shard]) {
+            if (sequences[shard] == MAX_SEQUENCE) {
+                // Séquence épuisée pour cette milliseconde : emprunte la suivante plutôt que d'attendre sous le verrou
+                millis++;
+                if (millis - clockMillis > MAX_BORROWED_MILLIS) {
+                    throw new IllegalStateException("Product id allocation is more than " + MAX_BORROWED_MILLIS
+                            + " ms ahead of the clock, retry later");
+                }
+                sequences[shard] = 0;
+            } else {
+                sequences[shard]++;
+            }
+        } else {
+            sequences[shard] = 0;
+        }
+        lastMillis[shard] = millis;
+        return (millis << (NODE_BITS + SHARD_BITS + SEQUENCE_BITS))
+                | ((long) nodeId << (SHARD_BITS + SEQUENCE_BITS))
+                | ((long) shard << SEQUENCE_BITS)
+                | sequences[shard];
+    }
+
+    /**
+     * Base d'un id généré par {@link #nextId}.
+     */
+    public static int shardOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & (MAX_SHARDS - 1);
+    }
+}
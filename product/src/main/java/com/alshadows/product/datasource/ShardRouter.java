@@ -0,0 +1,136 @@
+package com.alshadows.product.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Placement des produits entre les bases : un produit est sur la base codée dans son id,
+ * un nom de produit dans la table de routage de la base obtenue par hachage du nom.
+ * Les créations sont réparties à tour de rôle ; les lectures sur toutes les bases sont exécutées en parallèle.
+ */
+@Slf4j
+public class ShardRouter implements DisposableBean {
+
+    private final int shardCount;
+    private final ShardIdAllocator idAllocator;
+    private final ExecutorService scatterExecutor;
+    private final Duration scatterTimeout;
+    private final int maxScatterRows;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardRouter(int shardCount, ShardIdAllocator idAllocator, int scatterPoolSize, Duration scatterTimeout,
+                       int maxScatterRows) {
+        this.shardCount = shardCount;
+        this.idAllocator = idAllocator;
+        this.scatterTimeout = scatterTimeout;
+        this.maxScatterRows = maxScatterRows;
+        AtomicInteger threads = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(scatterPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int maxScatterRows() {
+        return maxScatterRows;
+    }
+
+    public int shardOf(long productId) {
+        int shard = ShardIdAllocator.shardOf(productId);
+        // Id antérieur au partitionnement ou d'une configuration plus large : absent de toutes les bases
+        return shard < shardCount ? shard : -1;
+    }
+
+    public int shardOfName(String name) {
+        return Math.floorMod(name.hashCode(), shardCount);
+    }
+
+    /**
+     * Base du prochain produit créé.
+     */
+    public int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+
+    public long allocateId(int shard) {
+        return idAllocator.nextId(shard);
+    }
+
+    /**
+     * Exécute la lecture sur chaque base en parallèle et renvoie les résultats dans l'ordre des bases.
+     * Échoue si une base ne répond pas dans le délai : un résultat partiel serait faux.
+     */
+    public <T> List<T> scatter(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            Supplier<T> task = () -> ShardContext.call(target, () -> query.apply(target));
+            futures.add(CompletableFuture.supplyAsync(task, scatterExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(scatterTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Shard query timed out after " + scatterTimeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Concatène les résultats de la requête exécutée sur chaque base ; sans partitionnement ({@code router} null),
+     * l'exécute une seule fois sur la base unique.
+     */
+    public static <T> List<T> gather(ShardRouter router, Supplier<List<T>> query) {
+        if (router == null) {
+            return query.get();
+        }
+        List<T> results = new ArrayList<>();
+        router.scatter(shard -> query.get()).forEach(results::addAll);
+        return results;
+    }
+
+    /**
+     * Exécute l'action sur chaque base l'une après l'autre, ou une seule fois sans partitionnement.
+     */
+    public static void forEachShard(ShardRouter router, Runnable action) {
+        if (router == null) {
+            action.run();
+            return;
+        }
+        for (int shard = 0; shard < router.shardCount; shard++) {
+            ShardContext.run(shard, action);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+    }
+}
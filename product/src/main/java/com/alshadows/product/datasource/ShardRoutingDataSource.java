@@ -0,0 +1,44 @@
+package com.alshadows.product.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+/**
+ * Source de données partitionnée : chaque connexion est ouverte sur la base désignée par {@link ShardContext}.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return shards.get(ShardContext.current()).getConnection();
+    }
+
+    /**
+     * Non pris en charge, comme par les pools Hikari sous-jacents : les connexions utilisent les identifiants configurés.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Shard connections use the configured credentials");
+    }
+
+    @Override
+    public void destroy() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
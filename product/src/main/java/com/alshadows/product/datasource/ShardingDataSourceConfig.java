@@ -0,0 +1,73 @@
+package com.alshadows.product.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+
+/**
+ * Partitionnement horizontal de la table des produits entre les bases déclarées sous
+ * {@code app.datasource.sharding.shards}. Remplace {@code spring.datasource} : chaque connexion va sur la base
+ * du {@link ShardContext} courant, la première base par défaut. Incompatible avec le routage vers les réplicas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingDataSourceConfig {
+
+    private static final String SHARD_SCHEMA = "db/shard-schema.sql";
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("app.datasource.sharding.shards must declare at least one database");
+        }
+        List<HikariDataSource> shards = properties.getShards().stream()
+                .map(ShardingDataSourceConfig::createShardPool)
+                .toList();
+        if (properties.isInitializeSchema()) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SHARD_SCHEMA));
+            shards.forEach(populator::execute);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public ShardIdAllocator shardIdAllocator(ShardingProperties properties) {
+        if (properties.getNodeId() == null) {
+            throw new IllegalStateException(
+                    "app.datasource.sharding.node-id must be set, to a value unique among the writing instances");
+        }
+        return new ShardIdAllocator(properties.getNodeId(), properties.getShards().size());
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties, ShardIdAllocator shardIdAllocator) {
+        return new ShardRouter(properties.getShards().size(), shardIdAllocator, properties.getScatterPoolSize(),
+                properties.getScatterTimeout(), properties.getMaxScatterRows());
+    }
+
+    // Transmet l'allocateur au générateur d'ids des produits (ShardAwareIdGenerator)
+    @Bean
+    public HibernatePropertiesCustomizer shardIdAllocatorCustomizer(ShardIdAllocator shardIdAllocator) {
+        return properties -> properties.put(ShardAwareIdGenerator.ALLOCATOR_SETTING, shardIdAllocator);
+    }
+
+    private static HikariDataSource createShardPool(ShardingProperties.Shard shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(shard.getUrl());
+        dataSource.setUsername(shard.getUsername());
+        dataSource.setPassword(shard.getPassword());
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        dataSource.setPoolName("shard-" + shard.getUrl());
+        return dataSource;
+    }
+}
@@ -0,0 +1,50 @@
+package com.alshadows.product.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration du partitionnement de la table des produits entre plusieurs bases PostgreSQL.
+ * La première base déclarée est la base d'accueil : elle porte aussi les tables non partitionnées (utilisateurs).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    // Identifiant de l'instance dans les ids générés, unique parmi les instances qui écrivent (0 à 15).
+    // Sans valeur par défaut : deux instances laissées au même identifiant généreraient les mêmes ids
+    private Integer nodeId;
+
+    // Crée les tables partitionnées sur chaque base au démarrage si elles n'existent pas
+    private boolean initializeSchema = true;
+
+    // Lectures réparties (liste, recherche) : nombre de requêtes simultanées et délai maximal
+    private int scatterPoolSize = 16;
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+
+    // Au-delà, une page trop profonde est refusée : chaque base devrait renvoyer (page + 1) x size lignes
+    private int maxScatterRows = 10_000;
+
+    // Une réservation de nom dont le produit n'existe pas n'est reprise qu'après ce délai, nettement plus long
+    // qu'une transaction de création : avant, le produit peut être en cours d'écriture sur une autre instance
+    private Duration nameReservationGrace = Duration.ofMinutes(1);
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
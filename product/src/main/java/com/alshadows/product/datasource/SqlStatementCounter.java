@@ -0,0 +1,101 @@
+package com.alshadows.product.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.boot.autoconfigure.ProxyDataSourceBuilderCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Compte les requêtes SQL exécutées et les lignes lues sur le thread courant, entre {@link #start()} et {@link #stop()}.
+ * Branché sur le proxy JDBC de datasource-micrometer (déjà en place pour les spans) : chaque exécution
+ * ({@code execute*}, ou un lot) compte pour une requête, chaque {@code ResultSet.next()} positif pour une ligne.
+ * Hors d'une mesure démarrée (tâches planifiées, préchargement), les requêtes ne sont pas comptées.
+ */
+@Component
+public class SqlStatementCounter implements QueryExecutionListener, MethodExecutionListener, ProxyDataSourceBuilderCustomizer {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+
+    public SqlStatementCounter(@Value("${app.sql-stats.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Démarre une mesure sur le thread courant, en remplaçant celle en cours s'il y en a une.
+     */
+    public static SqlStatementStats start() {
+        return start(new SqlStatementStats(false));
+    }
+
+    /**
+     * Comme {@link #start()}, en gardant aussi le texte des requêtes exécutées, pour les messages d'échec des tests.
+     */
+    static SqlStatementStats startKeepingStatements() {
+        return start(new SqlStatementStats(true));
+    }
+
+    private static SqlStatementStats start(SqlStatementStats stats) {
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Mesure en cours sur le thread courant, ou null.
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void customize(ProxyDataSourceBuilder builder, DataSource dataSource, String beanName, String dataSourceName) {
+        // Les ResultSet ne sont proxifiés par défaut que si jdbc.includes contient fetch ; nécessaire au comptage
+        // des lignes, mais ajoute un appel par ResultSet.next() : seulement si la mesure est active
+        if (enabled) {
+            builder.proxyResultSet();
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        stats.recordStatement(queryInfoList.get(0).getQuery(), execInfo.getElapsedTime());
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStatementStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.recordRow();
+            }
+        }
+    }
+}
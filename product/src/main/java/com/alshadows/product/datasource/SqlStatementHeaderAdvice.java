@@ -0,0 +1,47 @@
+package com.alshadows.product.datasource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * En-têtes de diagnostic {@code X-Sql-Count}, {@code X-Sql-Rows} et {@code X-Sql-Time-Ms} sur les réponses,
+ * ajoutés juste avant l'écriture du corps (le filtre de comptage passe trop tard, la réponse est alors envoyée).
+ * Désactivé par défaut : {@code app.sql-stats.header-enabled=true}.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "app.sql-stats.header-enabled", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SQL_COUNT_HEADER = "X-Sql-Count";
+    public static final String SQL_ROWS_HEADER = "X-Sql-Rows";
+    public static final String SQL_TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        SqlStatementStats stats = SqlStatementCounter.current();
+        if (stats != null) {
+            response.getHeaders().set(SQL_COUNT_HEADER, String.valueOf(stats.statements()));
+            response.getHeaders().set(SQL_ROWS_HEADER, String.valueOf(stats.rows()));
+            response.getHeaders().set(SQL_TIME_HEADER, String.valueOf(stats.elapsedMillis()));
+        }
+        return body;
+    }
+}
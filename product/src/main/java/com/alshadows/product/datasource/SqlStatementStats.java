@@ -0,0 +1,79 @@
+package com.alshadows.product.datasource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requêtes SQL exécutées pendant une requête HTTP (ou un bloc mesuré par un test) :
+ * nombre d'exécutions, lignes lues, temps passé en base, et exécutions par texte SQL
+ * pour repérer les requêtes répétées (N+1). Confiné au thread qui l'a démarré.
+ * Le texte de chaque exécution n'est gardé que pour les assertions des tests, et au plus {@value #MAX_KEPT_STATEMENTS} fois.
+ */
+public class SqlStatementStats {
+
+    /**
+     * Requête SQL la plus répétée et son nombre d'exécutions.
+     */
+    public record RepeatedStatement(String sql, int executions) {
+    }
+
+    static final int MAX_KEPT_STATEMENTS = 100;
+
+    private final boolean keepStatements;
+    private int statements;
+    private long rows;
+    private long elapsedMillis;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private final List<String> executed = new ArrayList<>();
+
+    SqlStatementStats(boolean keepStatements) {
+        this.keepStatements = keepStatements;
+    }
+
+    void recordStatement(String sql, long elapsedMillis) {
+        statements++;
+        this.elapsedMillis += elapsedMillis;
+        executionsBySql.merge(sql, 1, Integer::sum);
+        if (keepStatements && executed.size() < MAX_KEPT_STATEMENTS) {
+            executed.add(sql);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Textes SQL dans l'ordre d'exécution, si la mesure a été démarrée pour les garder ; vide sinon.
+     */
+    public List<String> executed() {
+        return List.copyOf(executed);
+    }
+
+    /**
+     * Requête exécutée le plus de fois, ou null si aucune requête n'a été exécutée.
+     */
+    public RepeatedStatement mostRepeated() {
+        RepeatedStatement mostRepeated = null;
+        for (Map.Entry<String, Integer> entry : executionsBySql.entrySet()) {
+            if (mostRepeated == null || entry.getValue() > mostRepeated.executions()) {
+                mostRepeated = new RepeatedStatement(entry.getKey(), entry.getValue());
+            }
+        }
+        return mostRepeated;
+    }
+}
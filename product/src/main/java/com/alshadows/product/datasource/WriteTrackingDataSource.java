@@ -0,0 +1,38 @@
+package com.alshadows.product.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source de données primaire qui signale au {@link ReadYourWritesTracker} chaque transaction
+ * en écriture validée par l'utilisateur courant.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker readYourWritesTracker) {
+        super(primary);
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWritesTracker.isEnabled()
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.recordWriteForCurrentUser();
+                }
+            });
+        }
+        return super.getConnection();
+    }
+}
@@ -0,0 +1,21 @@
+package com.alshadows.product.dto.product;
+
+import jakarta.validation.Valid;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Suppression de masse : soit une liste d'ids, soit un filtre.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkDeleteRequest {
+    private List<Long> ids;
+
+    @Valid
+    private ProductFilter filter;
+}
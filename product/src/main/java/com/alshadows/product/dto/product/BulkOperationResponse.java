@@ -0,0 +1,14 @@
+package com.alshadows.product.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkOperationResponse {
+    // Nombre de lignes modifiées ou supprimées.
+    private long affectedCount;
+    // Nombre de lots (transactions) exécutés.
+    private int chunkCount;
+    private String mode;
+}
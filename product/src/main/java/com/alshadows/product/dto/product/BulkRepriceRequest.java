@@ -0,0 +1,40 @@
+package com.alshadows.product.dto.product;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changement de prix en masse.
+ * ABSOLUTE : {@code value} devient le prix des produits désignés par {@code ids} ou {@code filter}.
+ * PERCENTAGE : leur prix est ajusté de {@code value} % (-10 pour une baisse de 10 %), arrondi au centime.
+ * PER_ID : {@code prices} donne le nouveau prix de chaque id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkRepriceRequest {
+
+    public enum Mode {
+        ABSOLUTE,
+        PERCENTAGE,
+        PER_ID
+    }
+
+    @NotNull(message = "Le mode de changement de prix est obligatoire")
+    private Mode mode;
+
+    private Double value;
+
+    private Map<Long, Double> prices;
+
+    private List<Long> ids;
+
+    @Valid
+    private ProductFilter filter;
+}
@@ -0,0 +1,27 @@
+package com.alshadows.product.dto.product;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Critères de sélection des opérations de masse. Les critères renseignés sont combinés (ET).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductFilter {
+    // Début du nom, insensible à la casse.
+    private String namePrefix;
+
+    @Min(value = 0, message = "Le prix minimum doit être positif")
+    private Double minPrice;
+
+    @Min(value = 0, message = "Le prix maximum doit être positif")
+    private Double maxPrice;
+
+    public boolean isEmpty() {
+        return (namePrefix == null || namePrefix.isBlank()) && minPrice == null && maxPrice == null;
+    }
+}
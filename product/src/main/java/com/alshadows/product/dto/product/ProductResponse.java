@@ -1,5 +1,6 @@
 package com.alshadows.product.dto.product;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -9,6 +10,8 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
+// Utilisé par les projections JPQL du dépôt, qui construisent la réponse sans passer par l'entité
+@AllArgsConstructor
 public class ProductResponse {
     private Long id;
     private String name;
@@ -0,0 +1,28 @@
+package com.alshadows.product.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductStatsResponse {
+    private long productCount;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double averagePrice;
+    private List<PriceBucket> priceHistogram;
+    private LocalDateTime lastReconciledAt;
+
+    @Getter
+    @AllArgsConstructor
+    public static class PriceBucket {
+        // Borne inférieure incluse.
+        private double from;
+        // Borne supérieure exclue (null pour la dernière tranche).
+        private Double to;
+        private long count;
+    }
+}
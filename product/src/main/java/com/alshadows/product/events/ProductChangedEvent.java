@@ -0,0 +1,44 @@
+package com.alshadows.product.events;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Événement publié par le service produit à chaque création, mise à jour ou suppression.
+ * Il transporte l'état du produit avant et après l'écriture afin que les structures en mémoire
+ * puissent se mettre à jour de façon incrémentale une fois la transaction validée.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductChangedEvent {
+    // État avant l'écriture (null pour une création).
+    private final ProductResponse previous;
+    // État après l'écriture (null pour une suppression).
+    private final ProductResponse current;
+
+    public static ProductChangedEvent created(ProductResponse current) {
+        return new ProductChangedEvent(null, current);
+    }
+
+    public static ProductChangedEvent updated(ProductResponse previous, ProductResponse current) {
+        return new ProductChangedEvent(previous, current);
+    }
+
+    public static ProductChangedEvent deleted(ProductResponse previous) {
+        return new ProductChangedEvent(previous, null);
+    }
+
+    public Long getProductId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    public boolean isCreation() {
+        return previous == null;
+    }
+
+    public boolean isDeletion() {
+        return current == null;
+    }
+}
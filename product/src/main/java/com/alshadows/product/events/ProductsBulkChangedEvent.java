@@ -0,0 +1,25 @@
+package com.alshadows.product.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Événement publié à la fin d'une opération de masse avec les ids de ses lots validés, y compris quand un lot
+ * a échoué en cours de route (les lots précédents restent validés).
+ * Contrairement à {@link ProductChangedEvent}, il ne transporte que les ids concernés :
+ * les structures en mémoire doivent relire ce dont elles ont besoin ou se reconstruire.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductsBulkChangedEvent {
+
+    public enum Type {
+        DELETED,
+        UPDATED
+    }
+
+    private final Type type;
+    private final List<Long> productIds;
+}
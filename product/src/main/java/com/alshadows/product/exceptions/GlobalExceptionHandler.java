@@ -25,7 +25,7 @@ public class GlobalExceptionHandler {
                 null,
                 null
         );
-        return ResponseEntity.badRequest().body(response);
+        return ResponseEntity.status(ex.getStatus()).body(response);
     }
 
     @ExceptionHandler(Exception.class)
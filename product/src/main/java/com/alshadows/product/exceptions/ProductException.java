@@ -1,14 +1,22 @@
 package com.alshadows.product.exceptions;
 
 import lombok.Getter;
+import org.springframework.http.HttpStatus;
 
 @Getter
 public class ProductException extends RuntimeException {
     private final String errorCode;
+    // Statut HTTP de la réponse d'erreur ; 400 sauf pour les erreurs que le client doit distinguer
+    private final HttpStatus status;
 
     public ProductException(String message, String errorCode) {
+        this(message, errorCode, HttpStatus.BAD_REQUEST);
+    }
+
+    public ProductException(String message, String errorCode, HttpStatus status) {
         super(message);
         this.errorCode = errorCode;
+        this.status = status;
     }
 
 }
@@ -13,11 +13,13 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "updateDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
     Product toEntity(ProductDTO dto);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "updateDate", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
     Product updateEntityFromDto(ProductDTO dto, @MappingTarget Product entity);
 
     ProductResponse toResponse(Product entity);
@@ -1,22 +1,34 @@
 package com.alshadows.product.model;
 
+import com.alshadows.product.datasource.ShardAwareId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+// Index des recherches par nom (existsByName) et des tris proposés par la liste ; vérifiés par ProductRepositoryQueryPlanTest
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_name", columnList = "name"),
+        @Index(name = "idx_products_price", columnList = "price"),
+        @Index(name = "idx_products_creation_date", columnList = "creationDate"),
+        @Index(name = "idx_products_update_date", columnList = "updateDate")
+})
+// Les produits supprimés logiquement restent invisibles jusqu'à leur purge
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 @NoArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Colonne identité, ou id portant sa base avec le partitionnement (ShardAwareIdGenerator)
+    @ShardAwareId
     private Long id;
 
     @NotBlank
@@ -33,6 +45,10 @@ public class Product {
 
     private LocalDateTime updateDate;
 
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean deleted;
+
     @PrePersist
     protected void onCreate() {
         creationDate = LocalDateTime.now();
@@ -0,0 +1,103 @@
+package com.alshadows.product.reactive;
+
+import com.alshadows.product.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Chemin de lecture non bloquant du catalogue, activé par {@code app.reactive.enabled=true} :
+ * les lectures (détail, liste, recherche) sont servies par un serveur Reactor Netty sur {@code app.reactive.port},
+ * avec accès R2DBC à la base ; les écritures restent sur l'API MVC.
+ * Le pool R2DBC n'est volontairement pas exposé comme bean {@code ConnectionFactory} : sa seule présence
+ * désactiverait l'auto-configuration de la DataSource JDBC utilisée par JPA.
+ * Ce port échappe au contrôle d'admission, aux caches de lecture et au comptage des requêtes SQL de l'API MVC ;
+ * il lit une seule base ({@code app.reactive.r2dbc.url}) et refuse donc de démarrer avec le partitionnement.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveCatalogProperties.class)
+public class ReactiveCatalogConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveCatalogConfig(ReactiveCatalogProperties properties,
+                                 @Value("${app.datasource.sharding.enabled:false}") boolean shardingEnabled) {
+        if (shardingEnabled) {
+            throw new IllegalStateException("app.reactive.enabled cannot be combined with app.datasource.sharding.enabled:"
+                    + " the reactive port reads a single, unsharded database");
+        }
+        ReactiveCatalogProperties.R2dbc r2dbc = properties.getR2dbc();
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbc.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, r2dbc.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, r2dbc.getPassword())
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .name("reactive-catalog")
+                .maxSize(r2dbc.getMaxPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public ReactiveProductRepository reactiveProductRepository(DatabaseClient reactiveDatabaseClient) {
+        return new ReactiveProductRepository(reactiveDatabaseClient);
+    }
+
+    @Bean
+    public ReactiveUserRepository reactiveUserRepository(DatabaseClient reactiveDatabaseClient) {
+        return new ReactiveUserRepository(reactiveDatabaseClient);
+    }
+
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(ReactiveCatalogProperties properties,
+                                                       ReactiveProductRepository productRepository,
+                                                       ReactiveUserRepository userRepository,
+                                                       JwtService jwtService,
+                                                       ObjectMapper objectMapper) {
+        ReactiveProductHandler handler = new ReactiveProductHandler(productRepository);
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .path("/api/v1/products", builder -> builder
+                        .GET("/search", handler::searchProducts)
+                        .GET("/{id}", handler::getProduct)
+                        .GET("", handler::getAllProducts))
+                .filter(new ReactiveJwtAuthenticationFilter(jwtService, userRepository))
+                .build();
+
+        // Même ObjectMapper que l'API MVC : inclusion non_null et sérialiseur dédié de ProductResponse
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper,
+                            MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveCatalogServer(RouterFunctions.toHttpHandler(routes, strategies), properties.getPort());
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
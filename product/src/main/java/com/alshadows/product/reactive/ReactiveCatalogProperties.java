@@ -0,0 +1,30 @@
+package com.alshadows.product.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration du chemin de lecture réactif du catalogue (serveur Reactor Netty + R2DBC).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveCatalogProperties {
+
+    private boolean enabled;
+
+    // Port distinct de celui de Tomcat, qui continue de servir les écritures et le reste de l'API.
+    private int port = 8087;
+
+    private R2dbc r2dbc = new R2dbc();
+
+    @Getter
+    @Setter
+    public static class R2dbc {
+        private String url;
+        private String username;
+        private String password;
+        private int maxPoolSize = 20;
+    }
+}
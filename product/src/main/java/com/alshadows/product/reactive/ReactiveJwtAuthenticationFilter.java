@@ -0,0 +1,65 @@
+package com.alshadows.product.reactive;
+
+import com.alshadows.product.common.ApiResponse;
+import com.alshadows.product.common.StatusConstants;
+import com.alshadows.product.security.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Équivalent réactif de {@link com.alshadows.product.security.JwtAuthenticationFilter} :
+ * le jeton Bearer est vérifié avec {@link JwtService} et l'utilisateur chargé sans bloquer.
+ * Toutes les routes du chemin réactif exigent un utilisateur authentifié, comme côté MVC.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveJwtAuthenticationFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    // Attribut de requête portant l'utilisateur authentifié.
+    public static final String USER_ATTRIBUTE = ReactiveJwtAuthenticationFilter.class.getName() + ".user";
+
+    private final JwtService jwtService;
+    private final ReactiveUserRepository userRepository;
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return unauthorized();
+        }
+
+        String jwt = authHeader.substring(7);
+        String username;
+        try {
+            username = jwtService.extractUsername(jwt);
+        } catch (Exception e) {
+            log.error("JWT Authentication failed: {}", e.getMessage());
+            return unauthorized();
+        }
+
+        return userRepository.findByUsername(username)
+                .filter(user -> jwtService.isTokenValid(jwt, user))
+                .flatMap(user -> {
+                    request.attributes().put(USER_ATTRIBUTE, user);
+                    return next.handle(request);
+                })
+                .switchIfEmpty(Mono.defer(ReactiveJwtAuthenticationFilter::unauthorized));
+    }
+
+    private static Mono<ServerResponse> unauthorized() {
+        return ServerResponse.status(HttpStatus.UNAUTHORIZED).bodyValue(new ApiResponse<>(
+                StatusConstants.REQUEST_FAILURE_STATUS,
+                "UNAUTHORIZED",
+                "Authentification requise",
+                null,
+                null
+        ));
+    }
+}
@@ -0,0 +1,108 @@
+package com.alshadows.product.reactive;
+
+import com.alshadows.product.common.ApiResponse;
+import com.alshadows.product.common.StatusConstants;
+import com.alshadows.product.dto.product.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Lectures du catalogue servies par le chemin réactif.
+ * Le détail garde l'enveloppe {@link ApiResponse} de l'API MVC ; les listes sont diffusées élément par élément
+ * (tableau JSON, ou une ligne par produit avec {@code Accept: application/x-ndjson}) sans total ni requête COUNT.
+ */
+@RequiredArgsConstructor
+public class ReactiveProductHandler {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // Champs triables -> colonnes, pour ne jamais concaténer la saisie de l'utilisateur dans le SQL.
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "description", "description",
+            "price", "price",
+            "creationDate", "creation_date",
+            "updateDate", "update_date"
+    );
+
+    private final ReactiveProductRepository productRepository;
+
+    public Mono<ServerResponse> getProduct(ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return failure("INVALID_PRODUCT_ID", "Identifiant de produit invalide");
+        }
+
+        String self = "/api/v1/products/" + id;
+        return productRepository.findById(id)
+                .flatMap(product -> ServerResponse.ok().bodyValue(new ApiResponse<>(
+                        StatusConstants.REQUEST_SUCCESS_STATUS,
+                        StatusConstants.PRODUCT_FETCH_SUCCESS,
+                        "Produit récupéré avec succès",
+                        product,
+                        Map.of("self", self, "update", self, "delete", self)
+                )))
+                .switchIfEmpty(Mono.defer(() -> failure("PRODUCT_NOT_FOUND", "Produit non trouvé avec l'id: " + id)));
+    }
+
+    public Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        String column = SORT_COLUMNS.get(request.queryParam("sort").orElse("id"));
+        if (column == null) {
+            return failure("INVALID_SORT", "Champ de tri invalide, valeurs possibles : " + SORT_COLUMNS.keySet());
+        }
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 10);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return failure("INVALID_PAGE", "Pagination invalide");
+        }
+        return stream(request, productRepository.findAll(column, size, (long) page * size));
+    }
+
+    public Mono<ServerResponse> searchProducts(ServerRequest request) {
+        String searchTerm = request.queryParam("searchTerm").orElse(null);
+        if (searchTerm == null) {
+            return failure("MISSING_SEARCH_TERM", "Le paramètre searchTerm est requis");
+        }
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 10);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return failure("INVALID_PAGE", "Pagination invalide");
+        }
+        return stream(request, productRepository.search(searchTerm, size, (long) page * size));
+    }
+
+    private static Mono<ServerResponse> stream(ServerRequest request, Flux<ProductResponse> products) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(mediaType).body(products, ProductResponse.class);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Mono<ServerResponse> failure(String errorCode, String message) {
+        return ServerResponse.status(HttpStatus.BAD_REQUEST).bodyValue(new ApiResponse<>(
+                StatusConstants.REQUEST_FAILURE_STATUS,
+                errorCode,
+                message,
+                null,
+                null
+        ));
+    }
+}
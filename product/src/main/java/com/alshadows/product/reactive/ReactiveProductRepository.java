@@ -0,0 +1,63 @@
+package com.alshadows.product.reactive;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lectures non bloquantes des produits via R2DBC.
+ * Les requêtes reprennent celles du dépôt JPA, y compris l'exclusion des produits supprimés logiquement
+ * qu'applique {@code @SQLRestriction} côté Hibernate.
+ */
+@RequiredArgsConstructor
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "SELECT id, name, description, price, creation_date, update_date FROM products ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<ProductResponse> findById(long id) {
+        return databaseClient.sql(COLUMNS + "WHERE id = :id AND deleted = false")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * @param orderBy Colonne de tri, issue d'une liste fermée (jamais de la saisie de l'utilisateur).
+     */
+    public Flux<ProductResponse> findAll(String orderBy, int limit, long offset) {
+        return databaseClient.sql(COLUMNS + "WHERE deleted = false ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveProductRepository::toResponse)
+                .all();
+    }
+
+    public Flux<ProductResponse> search(String searchTerm, int limit, long offset) {
+        return databaseClient.sql(COLUMNS + "WHERE deleted = false AND " +
+                        "(LOWER(name) LIKE '%' || LOWER(:term) || '%' OR LOWER(description) LIKE '%' || LOWER(:term) || '%') " +
+                        "ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("term", searchTerm)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveProductRepository::toResponse)
+                .all();
+    }
+
+    private static ProductResponse toResponse(Readable row) {
+        return new ProductResponse(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", Double.class),
+                row.get("creation_date", LocalDateTime.class),
+                row.get("update_date", LocalDateTime.class)
+        );
+    }
+}
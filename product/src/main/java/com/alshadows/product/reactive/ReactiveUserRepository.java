@@ -0,0 +1,28 @@
+package com.alshadows.product.reactive;
+
+import com.alshadows.product.model.Role;
+import com.alshadows.product.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Chargement non bloquant des utilisateurs pour l'authentification JWT du chemin réactif.
+ */
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByUsername(String username) {
+        return databaseClient.sql("SELECT id, username, password, role FROM _user WHERE username = :username")
+                .bind("username", username)
+                .map(row -> User.builder()
+                        .id(row.get("id", Long.class))
+                        .username(row.get("username", String.class))
+                        .password(row.get("password", String.class))
+                        .role(Role.valueOf(row.get("role", String.class)))
+                        .build())
+                .one();
+    }
+}
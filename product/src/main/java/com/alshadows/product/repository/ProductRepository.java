@@ -1,21 +1,108 @@
 package com.alshadows.product.repository;
 
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
 import com.alshadows.product.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     boolean existsByName(String name);
 
-    @Query("SELECT p FROM Product p WHERE " +
+    // Projections directes vers ProductResponse : ni entités gérées par le contexte de persistance, ni copie par le mapper
+    @Query(value = "SELECT new com.alshadows.product.dto.product.ProductResponse(" +
+            "p.id, p.name, p.description, p.price, p.creationDate, p.updateDate) FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = "SELECT new com.alshadows.product.dto.product.ProductResponse(" +
+            "p.id, p.name, p.description, p.price, p.creationDate, p.updateDate) FROM Product p WHERE " +
             "LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Product> search(@Param("searchTerm") String searchTerm, Pageable pageable);
+            "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+                    "LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                    "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Page<ProductResponse> searchResponses(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query(value = "SELECT new com.alshadows.product.dto.product.ProductResponse(" +
+            "p.id, p.name, p.description, p.price, p.creationDate, p.updateDate) FROM Product p WHERE " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND (:maxPrice IS NULL OR p.price <= :maxPrice)",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+                    "(:minPrice IS NULL OR p.price >= :minPrice) AND (:maxPrice IS NULL OR p.price <= :maxPrice)")
+    Page<ProductResponse> findResponsesByPriceRange(@Param("minPrice") Double minPrice,
+                                                    @Param("maxPrice") Double maxPrice,
+                                                    Pageable pageable);
+
+    // Parcours par clé de tout le catalogue, lot par lot (chargement de ColumnarCatalog)
+    @Query("SELECT new com.alshadows.product.dto.product.ProductResponse(" +
+            "p.id, p.name, p.description, p.price, p.creationDate, p.updateDate) FROM Product p " +
+            "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductResponse> findResponsesAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.alshadows.product.dto.product.ProductSuggestion(p.id, p.name) FROM Product p")
+    List<ProductSuggestion> findAllSuggestions();
+
+    @Query("SELECT COUNT(p), COUNT(p.price), MIN(p.price), MAX(p.price), SUM(p.price) FROM Product p")
+    List<Object[]> aggregatePrices();
+
+    @Query("SELECT p.price, COUNT(p) FROM Product p GROUP BY p.price")
+    List<Object[]> countByPrice();
+
+    // Parcours par clé (id croissant) des produits correspondant au filtre, lot par lot
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId " +
+            "AND (:namePrefix IS NULL OR LOWER(p.name) LIKE CONCAT(:namePrefix, '%')) " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "ORDER BY p.id")
+    List<Long> findIdsByFilter(@Param("afterId") long afterId,
+                               @Param("namePrefix") String namePrefix,
+                               @Param("minPrice") Double minPrice,
+                               @Param("maxPrice") Double maxPrice,
+                               Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.deleted = true, p.updateDate = :now WHERE p.id IN :ids")
+    int softDeleteAllByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.price = :price, p.updateDate = :now WHERE p.id IN :ids")
+    int updatePriceByIdIn(@Param("ids") Collection<Long> ids, @Param("price") double price,
+                          @Param("now") LocalDateTime now);
+
+    // Les produits sans prix restent sans prix
+    @Modifying
+    @Query("UPDATE Product p SET p.price = ROUND(p.price * :factor, 2), p.updateDate = :now " +
+            "WHERE p.id IN :ids AND p.price IS NOT NULL")
+    int scalePriceByIdIn(@Param("ids") Collection<Long> ids, @Param("factor") double factor,
+                         @Param("now") LocalDateTime now);
+
+    // Un prix par id, appliqués en une seule requête à partir de deux tableaux de même longueur
+    @Modifying
+    @Query(value = "UPDATE products p SET price = v.price, update_date = :now " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:prices AS double precision[])) AS v(id, price) " +
+            "WHERE p.id = v.id AND p.deleted = false",
+            nativeQuery = true)
+    int updatePrices(@Param("ids") Long[] ids, @Param("prices") Double[] prices, @Param("now") LocalDateTime now);
+
+    // Requête native : la restriction sur "deleted" ne s'applique pas aux produits déjà supprimés logiquement
+    @Modifying
+    @Query(value = "DELETE FROM products WHERE id IN " +
+            "(SELECT id FROM products WHERE deleted = true ORDER BY id LIMIT :batchSize)",
+            nativeQuery = true)
+    int purgeSoftDeleted(@Param("batchSize") int batchSize);
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.alshadows.product.security;
+
+import com.alshadows.product.common.ApiResponse;
+import com.alshadows.product.common.StatusConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contrôle d'admission placé en tête de la chaîne de sécurité : limite le nombre de requêtes traitées
+ * simultanément et rejette immédiatement (503 + Retry-After) celles qui dépassent la limite,
+ * plutôt que de les laisser s'accumuler dans la file de Tomcat jusqu'à l'épuisement du pool de connexions.
+ * La limite s'ajuste selon la latence observée (AIMD) : +1 tant que les réponses sont rapides et que
+ * la limite est atteinte, réduction multiplicative dès qu'une réponse est lente ou en erreur serveur.
+ * La latence des opérations de masse, longues par nature, n'est pas prise en compte : seules leurs erreurs
+ * serveur réduisent la limite.
+ * Chaque priorité n'a droit qu'à une fraction de la limite : les opérations de masse sont rejetées
+ * en premier, puis les écritures, les lectures en dernier ; la connexion reste plafonnée.
+ */
+@Component
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    enum Priority {
+        READ(1.0), WRITE(0.8), BULK(0.5), LOGIN(0.25);
+
+        // Part de la limite courante accessible aux requêtes de cette priorité.
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final String retryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Limite courante (double), mise à jour par compare-and-set
+    private final AtomicLong limitBits = new AtomicLong();
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+
+    public AdmissionControlFilter(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.admission.enabled:true}") boolean enabled,
+                                  @Value("${app.admission.initial-limit:50}") int initialLimit,
+                                  @Value("${app.admission.min-limit:10}") int minLimit,
+                                  @Value("${app.admission.max-limit:200}") int maxLimit,
+                                  @Value("${app.admission.latency-threshold:500ms}") Duration latencyThreshold,
+                                  @Value("${app.admission.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${app.admission.retry-after:1s}") Duration retryAfter) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.limitBits.set(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+
+        Gauge.builder("http.admission.limit", this::limit).register(meterRegistry);
+        Gauge.builder("http.admission.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejections.put(priority, Counter.builder("http.admission.rejected")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Les sondes de supervision doivent toujours répondre, même en surcharge
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Priority priority = classify(request);
+        if (!tryAcquire(priority)) {
+            reject(priority, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            inFlight.decrementAndGet();
+            onSample(priority, System.nanoTime() - start, failed);
+        }
+    }
+
+    static Priority classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/v1/auth/")) {
+            return Priority.LOGIN;
+        }
+        if (uri.startsWith("/api/v1/admin/")) {
+            return Priority.BULK;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? Priority.READ : Priority.WRITE;
+    }
+
+    private boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit() * priority.share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void onSample(Priority priority, long latencyNanos, boolean failed) {
+        boolean slow = priority != Priority.BULK && latencyNanos > latencyThresholdNanos;
+        while (true) {
+            long bits = limitBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next;
+            if (failed || slow) {
+                next = Math.max(minLimit, current * backoffRatio);
+            } else if (inFlight.get() * 2 >= current) {
+                // N'augmente que si la limite est réellement sollicitée
+                next = Math.min(maxLimit, current + 1);
+            } else {
+                return;
+            }
+            if (next == current || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    private void reject(Priority priority, HttpServletResponse response) throws IOException {
+        rejections.get(priority).increment();
+        log.debug("Rejecting {} request, {} in flight for a limit of {}", priority, inFlight.get(), (int) limit());
+
+        ApiResponse<?> body = new ApiResponse<>(
+                StatusConstants.REQUEST_FAILURE_STATUS,
+                "SERVICE_OVERLOADED",
+                "Le service est temporairement surchargé, veuillez réessayer",
+                null,
+                null
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -1,5 +1,7 @@
 package com.alshadows.product.security;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -40,7 +43,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        try {
+        // Span dédié : validation du jeton et chargement de l'utilisateur (requête SQL incluse)
+        Observation observation = Observation.start("jwt.authentication", observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
             jwt = authHeader.substring(7);
             username = jwtService.extractUsername(jwt);
 
@@ -59,7 +64,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (Exception e) {
+            observation.error(e);
             log.error("JWT Authentication failed: {}", e.getMessage());
+        } finally {
+            observation.stop();
         }
 
         filterChain.doFilter(request, response);
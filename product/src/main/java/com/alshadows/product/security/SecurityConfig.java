@@ -35,6 +35,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final AdmissionControlFilter admissionControlFilter;
     private final UserDetailsService userDetailsService;
 
     @Bean
@@ -56,6 +57,8 @@ public class SecurityConfig {
                 )
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Rejette les requêtes en surcharge avant tout chargement d'utilisateur
+                .addFilterBefore(admissionControlFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 
@@ -82,10 +85,12 @@ public class SecurityConfig {
                 "Content-Type",
                 "X-Requested-With",
                 "Accept",
-                "X-XSRF-TOKEN"
+                "X-XSRF-TOKEN",
+                "Idempotency-Key"
         ));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "Idempotent-Replayed",
+                "X-Sql-Count", "X-Sql-Rows", "X-Sql-Time-Ms", "ETag"));
         configuration.setMaxAge(3600L);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
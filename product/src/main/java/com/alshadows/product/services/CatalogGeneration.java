@@ -0,0 +1,44 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.events.ProductChangedEvent;
+import com.alshadows.product.events.ProductsBulkChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numéro de version du catalogue, incrémenté après chaque écriture validée (création, mise à jour, suppression,
+ * opération de masse). Un résultat calculé sur tout le catalogue est valide tant que la génération lue
+ * avant son calcul est toujours la génération courante : l'invalidation ne coûte qu'un incrément,
+ * sans suivre quels produits chaque résultat contient.
+ * Les écritures des autres instances ne passant pas par ces événements, la génération est aussi incrémentée
+ * toutes les {@code app.catalog.generation.max-age} : aucun résultat n'est servi plus longtemps que ce délai.
+ */
+@Component
+public class CatalogGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @EventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.generation.max-age:PT1M}",
+            initialDelayString = "${app.catalog.generation.max-age:PT1M}")
+    public void expire() {
+        generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,131 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductDTO;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductStatsResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Point d'entrée du service produit utilisé par les contrôleurs.
+ * Les lectures concurrentes identiques partagent un seul appel à {@link ProductServiceImpl}
+ * (et donc une seule transaction et une seule requête SQL) ; les écritures sont déléguées telles quelles.
+ * Avec le partitionnement, les appels passent par {@link ShardedProductService}.
+ * Les produits lus par id sont servis depuis {@link ProductCache} lorsqu'ils y sont,
+ * les pages de recherche des termes fréquents depuis {@link SearchResultCache}
+ * et les listes, lorsque la réplique en colonnes est active, depuis {@link ColumnarCatalog}.
+ * Les ids et termes de recherche demandés sont comptés par {@link HotKeyTracker}.
+ */
+@Service
+@Primary
+public class CoalescingProductService implements ProductService {
+
+    private final ProductService delegate;
+    private final RequestCoalescer requestCoalescer;
+    private final ProductCache productCache;
+    private final SearchResultCache searchResultCache;
+    private final HotKeyTracker hotKeyTracker;
+    private final ColumnarCatalog columnarCatalog;
+
+    public CoalescingProductService(ProductServiceImpl productService,
+                                    ObjectProvider<ShardedProductService> shardedProductService,
+                                    RequestCoalescer requestCoalescer,
+                                    ProductCache productCache,
+                                    SearchResultCache searchResultCache,
+                                    HotKeyTracker hotKeyTracker,
+                                    ColumnarCatalog columnarCatalog) {
+        ProductService sharded = shardedProductService.getIfAvailable();
+        this.delegate = sharded != null ? sharded : productService;
+        this.requestCoalescer = requestCoalescer;
+        this.productCache = productCache;
+        this.searchResultCache = searchResultCache;
+        this.hotKeyTracker = hotKeyTracker;
+        this.columnarCatalog = columnarCatalog;
+    }
+
+    @Override
+    public ProductResponse createProduct(ProductDTO productDto) {
+        return delegate.createProduct(productDto);
+    }
+
+    @Override
+    public ProductResponse getProduct(Long id) {
+        hotKeyTracker.recordProduct(id);
+        ProductResponse cached = productCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        return requestCoalescer.execute(key("getProduct", id), () -> {
+            long generation = productCache.generation();
+            ProductResponse product = delegate.getProduct(id);
+            productCache.putIfAbsent(product, generation);
+            return product;
+        });
+    }
+
+    @Override
+    public ProductResponse updateProduct(Long id, ProductDTO productDto) {
+        return delegate.updateProduct(id, productDto);
+    }
+
+    @Override
+    public void deleteProduct(Long id) {
+        delegate.deleteProduct(id);
+    }
+
+    @Override
+    public Page<ProductResponse> getAllProducts(Pageable pageable) {
+        Page<ProductResponse> page = columnarCatalog.findAll(null, null, pageable);
+        if (page != null) {
+            return page;
+        }
+        return requestCoalescer.execute(key("getAllProducts", pageable), () -> delegate.getAllProducts(pageable));
+    }
+
+    @Override
+    public Page<ProductResponse> getProductsByPrice(Double minPrice, Double maxPrice, Pageable pageable) {
+        Page<ProductResponse> page = columnarCatalog.findAll(minPrice, maxPrice, pageable);
+        if (page != null) {
+            return page;
+        }
+        return requestCoalescer.execute(key("getProductsByPrice", minPrice, maxPrice, pageable),
+                () -> delegate.getProductsByPrice(minPrice, maxPrice, pageable));
+    }
+
+    @Override
+    public Page<ProductResponse> searchProducts(String searchTerm, Pageable pageable) {
+        hotKeyTracker.recordSearchTerm(searchTerm);
+        Page<ProductResponse> cached = searchResultCache.get(searchTerm, pageable);
+        if (cached != null) {
+            return cached;
+        }
+        return requestCoalescer.execute(key("searchProducts", searchTerm, pageable), () -> {
+            long generation = searchResultCache.generation();
+            Page<ProductResponse> page = delegate.searchProducts(searchTerm, pageable);
+            searchResultCache.put(searchTerm, pageable, page, generation);
+            return page;
+        });
+    }
+
+    @Override
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        return delegate.suggestProducts(prefix, limit);
+    }
+
+    @Override
+    public ProductStatsResponse getProductStats() {
+        return delegate.getProductStats();
+    }
+
+    // Clé construite à partir du nom de la méthode et de ses arguments (Pageable implémente equals/hashCode)
+    private static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+}
@@ -0,0 +1,228 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.events.ProductChangedEvent;
+import com.alshadows.product.events.ProductsBulkChangedEvent;
+import com.alshadows.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Réplique en mémoire de la table des produits, en colonnes ({@link ColumnarSnapshot}), qui sert les listes
+ * triées et filtrées par prix sans requête SQL. Activée par {@code app.catalog.columnar.enabled}.
+ * Chargée au démarrage, tenue à jour par les événements d'écriture de cette instance et rechargée
+ * périodiquement pour reprendre les écritures des autres instances. Les écritures ne font que mettre leur événement
+ * en file : une seule tâche de fond les applique par lot, en une copie de l'instantané par lot.
+ * Tant qu'elle n'est pas chargée, ou pour un tri non pris en charge, {@link #findAll} renvoie null
+ * et la lecture passe par la base.
+ */
+@Component
+@Slf4j
+public class ColumnarCatalog implements ApplicationRunner {
+
+    private final ProductRepository productRepository;
+    private final ObjectProvider<ShardRouter> shardRouter;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int loadChunkSize;
+
+    // Un seul chargement à la fois (démarrage, rafraîchissement périodique, modification de masse)
+    private final Object loadLock = new Object();
+    // Rechargement après modification de masse déjà planifié et pas encore commencé
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    // Écritures validées pas encore appliquées, et application déjà planifiée et pas encore commencée
+    private final Queue<ProductChangedEvent> queuedChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean applyScheduled = new AtomicBoolean();
+
+    private volatile ColumnarSnapshot snapshot;
+    // Écritures appliquées pendant un chargement, rejouées sur l'instantané chargé (null hors chargement)
+    private List<ProductChangedEvent> pendingChanges;
+    // Nombre de modifications de masse : un chargement concurrent de l'une d'elles est recommencé
+    private long bulkChanges;
+
+    public ColumnarCatalog(ProductRepository productRepository,
+                           @Value("${app.catalog.columnar.enabled:false}") boolean enabled,
+                           @Value("${app.catalog.columnar.load-chunk-size:5000}") int loadChunkSize,
+                           ObjectProvider<ShardRouter> shardRouter,
+                           TaskScheduler taskScheduler) {
+        this.productRepository = productRepository;
+        this.shardRouter = shardRouter;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.loadChunkSize = loadChunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            load();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.columnar.refresh-interval:PT5M}",
+            initialDelayString = "${app.catalog.columnar.refresh-interval:PT5M}")
+    public void refresh() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * Page de produits triée selon {@code pageable} et filtrée par prix (bornes incluses, null pour ne pas filtrer),
+     * ou null si la réplique ne peut pas la servir.
+     */
+    public Page<ProductResponse> findAll(Double minPrice, Double maxPrice, Pageable pageable) {
+        ColumnarSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        ColumnarSnapshot.Field field = ColumnarSnapshot.Field.ID;
+        boolean descending = false;
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1) {
+            return null;
+        }
+        if (orders.size() == 1) {
+            Sort.Order order = orders.get(0);
+            field = ColumnarSnapshot.Field.of(order.getProperty());
+            if (field == null || order.isIgnoreCase() || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return null;
+            }
+            descending = order.isDescending();
+        }
+        if (pageable.isUnpaged()) {
+            return null;
+        }
+        ColumnarSnapshot.Slice slice = current.page(field, descending, minPrice, maxPrice,
+                pageable.getPageNumber(), pageable.getPageSize());
+        return new PageImpl<>(slice.content(), pageable, slice.total());
+    }
+
+    // Sur le thread de l'écriture, après la validation : ni copie ni verrou, l'application se fait en tâche de fond
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        queuedChanges.add(event);
+        if (applyScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::applyQueuedChanges, Instant.now());
+        }
+    }
+
+    // Remis à false avant de vider la file : une écriture ajoutée ensuite est prise ici ou planifie une autre application.
+    // La file est vidée sous le verrou, pour que deux applications successives ne puissent pas s'inverser.
+    private void applyQueuedChanges() {
+        applyScheduled.set(false);
+        synchronized (this) {
+            List<ProductChangedEvent> changes = new ArrayList<>();
+            for (ProductChangedEvent change; (change = queuedChanges.poll()) != null; ) {
+                changes.add(change);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.addAll(changes);
+            }
+            if (snapshot != null && !changes.isEmpty()) {
+                snapshot = apply(snapshot, changes);
+            }
+        }
+    }
+
+    @EventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        synchronized (this) {
+            bulkChanges++;
+            snapshot = null;
+        }
+        // Les nouvelles valeurs ne sont pas dans l'événement : rechargement complet, hors du thread de la requête
+        // d'administration ; la base sert les lectures d'ici là. Plusieurs modifications rapprochées n'en planifient qu'un.
+        if (enabled && reloadScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                reloadScheduled.set(false);
+                load();
+            }, Instant.now());
+        }
+    }
+
+    private void load() {
+        synchronized (loadLock) {
+            loadSnapshot();
+        }
+    }
+
+    private void loadSnapshot() {
+        while (true) {
+            long bulkChangesBefore;
+            synchronized (this) {
+                bulkChangesBefore = bulkChanges;
+                pendingChanges = new ArrayList<>();
+            }
+            long start = System.nanoTime();
+            List<ProductResponse> products = ShardRouter.gather(shardRouter.getIfAvailable(), this::loadProducts);
+            // Avec le partitionnement, les bases sont concaténées : l'instantané attend les produits par id croissant
+            products.sort(Comparator.comparing(ProductResponse::getId));
+            ColumnarSnapshot loaded = ColumnarSnapshot.of(products);
+
+            synchronized (this) {
+                List<ProductChangedEvent> changes = pendingChanges;
+                pendingChanges = null;
+                if (bulkChanges == bulkChangesBefore) {
+                    // Une écriture déjà lue par le chargement est rejouée sans effet (valeur finale identique)
+                    loaded = apply(loaded, changes);
+                    snapshot = loaded;
+                    log.info("Columnar catalog loaded {} products in {} ms",
+                            loaded.size(), (System.nanoTime() - start) / 1_000_000);
+                    return;
+                }
+            }
+            log.debug("Bulk product change during columnar catalog load, reloading");
+        }
+    }
+
+    private List<ProductResponse> loadProducts() {
+        List<ProductResponse> products = new ArrayList<>();
+        long afterId = Long.MIN_VALUE;
+        List<ProductResponse> chunk;
+        do {
+            chunk = productRepository.findResponsesAfter(afterId, Limit.of(loadChunkSize));
+            products.addAll(chunk);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == loadChunkSize);
+        return products;
+    }
+
+    // Dernière valeur de chaque produit du lot (null s'il est supprimé), appliquée en une seule copie
+    private static ColumnarSnapshot apply(ColumnarSnapshot snapshot, List<ProductChangedEvent> events) {
+        Map<Long, ProductResponse> changes = new HashMap<>();
+        for (ProductChangedEvent event : events) {
+            changes.put(event.getProductId(), event.isDeletion() ? null : event.getCurrent());
+        }
+        return snapshot.apply(changes);
+    }
+}
@@ -0,0 +1,324 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Copie immuable de la table des produits en colonnes : un tableau par champ, les lignes rangées par id croissant,
+ * et pour chaque champ triable la permutation des lignes dans l'ordre du tri (nulls en dernier, puis par id).
+ * Les prix absents valent NaN, les dates sont en microsecondes depuis l'époque (précision de Postgres).
+ * Un lot d'écritures produit un nouvel instantané ({@link #apply}) en une copie O(n) sans retrier :
+ * les lecteurs d'un instantané n'ont besoin d'aucun verrou.
+ */
+final class ColumnarSnapshot {
+
+    // Pas de tri par nom : l'ordre des chaînes en Java diffère de la collation de la base, qui sert ce tri
+    enum Field {
+        ID("id"), PRICE("price"), CREATION_DATE("creationDate"), UPDATE_DATE("updateDate");
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        static Field of(String property) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Lignes d'une page et nombre total de lignes correspondant au filtre.
+     */
+    record Slice(List<ProductResponse> content, long total) {
+    }
+
+    private static final long NULL_DATE = Long.MAX_VALUE;
+    // En dessous, un parcours séquentiel est plus rapide que la découpe fork-join
+    private static final int PARALLEL_THRESHOLD = 50_000;
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] descriptions;
+    private final double[] prices;
+    private final long[] creationDates;
+    private final long[] updateDates;
+    // Permutations triées, indexées par Field.ordinal() (null pour ID : l'ordre des lignes)
+    private final int[][] orders;
+    // Descriptions déjà rencontrées, partagé par les instantanés issus d'un même chargement ; modifié seulement par
+    // apply, que ColumnarCatalog appelle sous son verrou. Il garde les descriptions remplacées jusqu'au chargement suivant.
+    private final Map<String, String> dictionary;
+
+    private ColumnarSnapshot(long[] ids, String[] names, String[] descriptions, double[] prices,
+                             long[] creationDates, long[] updateDates, int[][] orders, Map<String, String> dictionary) {
+        this.ids = ids;
+        this.names = names;
+        this.descriptions = descriptions;
+        this.prices = prices;
+        this.creationDates = creationDates;
+        this.updateDates = updateDates;
+        this.orders = orders;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Construit l'instantané à partir des produits triés par id croissant.
+     * Les descriptions identiques partagent la même chaîne, y compris celles des instantanés qui en dérivent.
+     */
+    static ColumnarSnapshot of(List<ProductResponse> productsById) {
+        int size = productsById.size();
+        long[] ids = new long[size];
+        String[] names = new String[size];
+        String[] descriptions = new String[size];
+        double[] prices = new double[size];
+        long[] creationDates = new long[size];
+        long[] updateDates = new long[size];
+        Map<String, String> dictionary = new HashMap<>();
+
+        for (int row = 0; row < size; row++) {
+            ProductResponse product = productsById.get(row);
+            ids[row] = product.getId();
+            names[row] = product.getName();
+            descriptions[row] = intern(dictionary, product.getDescription());
+            prices[row] = toColumn(product.getPrice());
+            creationDates[row] = toColumn(product.getCreationDate());
+            updateDates[row] = toColumn(product.getUpdateDate());
+        }
+
+        ColumnarSnapshot snapshot = new ColumnarSnapshot(ids, names, descriptions, prices, creationDates, updateDates,
+                new int[Field.values().length][], dictionary);
+        for (Field field : Field.values()) {
+            if (field != Field.ID) {
+                snapshot.orders[field.ordinal()] = IntStream.range(0, size).boxed()
+                        .sorted((a, b) -> snapshot.compare(field, a, b))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+        }
+        return snapshot;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Nouvel instantané avec les modifications d'un lot appliquées en une seule copie : produit ajouté ou remplacé,
+     * ou retiré si la valeur associée à son id est null. Les lignes inchangées gardent leur ordre relatif dans chaque
+     * permutation, seules les lignes modifiées sont triées puis fusionnées : O(n + k log k) pour k modifications.
+     */
+    ColumnarSnapshot apply(Map<Long, ProductResponse> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        List<Map.Entry<Long, ProductResponse>> sortedChanges = new ArrayList<>(changes.entrySet());
+        sortedChanges.sort(Map.Entry.comparingByKey());
+
+        int size = ids.length;
+        int capacity = size + sortedChanges.size();
+        long[] newIds = new long[capacity];
+        String[] newNames = new String[capacity];
+        String[] newDescriptions = new String[capacity];
+        double[] newPrices = new double[capacity];
+        long[] newCreationDates = new long[capacity];
+        long[] newUpdateDates = new long[capacity];
+        // Ligne de chaque ancienne ligne conservée telle quelle, -1 si elle est retirée ou remplacée
+        int[] keptRows = new int[size];
+        int[] changedRows = new int[sortedChanges.size()];
+        int changedCount = 0;
+
+        int newSize = 0;
+        int row = 0;
+        int next = 0;
+        while (row < size || next < sortedChanges.size()) {
+            Map.Entry<Long, ProductResponse> change = next < sortedChanges.size() ? sortedChanges.get(next) : null;
+            if (change != null && (row == size || change.getKey() <= ids[row])) {
+                next++;
+                if (row < size && change.getKey() == ids[row]) {
+                    keptRows[row++] = -1;
+                }
+                ProductResponse product = change.getValue();
+                if (product != null) {
+                    newIds[newSize] = product.getId();
+                    newNames[newSize] = product.getName();
+                    newDescriptions[newSize] = intern(dictionary, product.getDescription());
+                    newPrices[newSize] = toColumn(product.getPrice());
+                    newCreationDates[newSize] = toColumn(product.getCreationDate());
+                    newUpdateDates[newSize] = toColumn(product.getUpdateDate());
+                    changedRows[changedCount++] = newSize++;
+                }
+            } else {
+                newIds[newSize] = ids[row];
+                newNames[newSize] = names[row];
+                newDescriptions[newSize] = descriptions[row];
+                newPrices[newSize] = prices[row];
+                newCreationDates[newSize] = creationDates[row];
+                newUpdateDates[newSize] = updateDates[row];
+                keptRows[row++] = newSize++;
+            }
+        }
+
+        ColumnarSnapshot updated = new ColumnarSnapshot(Arrays.copyOf(newIds, newSize),
+                Arrays.copyOf(newNames, newSize), Arrays.copyOf(newDescriptions, newSize),
+                Arrays.copyOf(newPrices, newSize), Arrays.copyOf(newCreationDates, newSize),
+                Arrays.copyOf(newUpdateDates, newSize), new int[Field.values().length][], dictionary);
+        for (Field field : Field.values()) {
+            if (field != Field.ID) {
+                updated.orders[field.ordinal()] = updated.merge(field, orders[field.ordinal()], keptRows,
+                        Arrays.copyOf(changedRows, changedCount));
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Page des produits triés par {@code field} dont le prix est compris entre {@code minPrice} et {@code maxPrice}
+     * (bornes incluses, null pour ne pas filtrer ; un produit sans prix est exclu dès qu'une borne est donnée).
+     */
+    Slice page(Field field, boolean descending, Double minPrice, Double maxPrice, int pageNumber, int pageSize) {
+        long offset = (long) pageNumber * pageSize;
+        if (minPrice == null && maxPrice == null) {
+            return slice(field, descending, 0, ids.length, offset, pageSize);
+        }
+        double min = minPrice != null ? minPrice : Double.NEGATIVE_INFINITY;
+        double max = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+
+        if (field == Field.PRICE) {
+            // Les lignes correspondantes sont contiguës dans l'ordre des prix (NaN en dernier)
+            int[] byPrice = orders[Field.PRICE.ordinal()];
+            int from = firstPosition(byPrice, row -> prices[row] < min);
+            int to = firstPosition(byPrice, row -> prices[row] <= max);
+            return slice(field, descending, from, Math.max(from, to), offset, pageSize);
+        }
+
+        IntStream rows = IntStream.range(0, ids.length);
+        if (ids.length >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        long total = rows.filter(row -> prices[row] >= min && prices[row] <= max).count();
+
+        List<ProductResponse> content = new ArrayList<>(pageSize);
+        long skipped = 0;
+        for (int position = 0; position < ids.length && content.size() < pageSize && skipped + content.size() < total;
+             position++) {
+            int row = rowAt(field, descending ? ids.length - 1 - position : position);
+            if (prices[row] >= min && prices[row] <= max) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    content.add(toResponse(row));
+                }
+            }
+        }
+        return new Slice(content, total);
+    }
+
+    // Positions [from, to) de l'ordre du champ, parcourues dans le sens demandé à partir de offset
+    private Slice slice(Field field, boolean descending, int from, int to, long offset, int pageSize) {
+        int total = to - from;
+        List<ProductResponse> content = new ArrayList<>((int) Math.max(0, Math.min(pageSize, total - offset)));
+        for (long index = offset; index < total && content.size() < pageSize; index++) {
+            int position = descending ? to - 1 - (int) index : from + (int) index;
+            content.add(toResponse(rowAt(field, position)));
+        }
+        return new Slice(content, total);
+    }
+
+    private int rowAt(Field field, int position) {
+        return field == Field.ID ? position : orders[field.ordinal()][position];
+    }
+
+    // Première position de la permutation des prix dont la ligne ne vérifie plus le prédicat (monotone)
+    private static int firstPosition(int[] byPrice, IntPredicate before) {
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before.test(byPrice[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Fusionne l'ancienne permutation, réduite aux lignes conservées et renumérotée, avec les lignes modifiées triées
+    private int[] merge(Field field, int[] previousOrder, int[] keptRows, int[] changedRows) {
+        int[] sortedChanged = IntStream.of(changedRows).boxed()
+                .sorted((a, b) -> compare(field, a, b))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] order = new int[ids.length];
+        int count = 0;
+        int next = 0;
+        for (int previous : previousOrder) {
+            int row = keptRows[previous];
+            if (row < 0) {
+                continue;
+            }
+            while (next < sortedChanged.length && compare(field, sortedChanged[next], row) < 0) {
+                order[count++] = sortedChanged[next++];
+            }
+            order[count++] = row;
+        }
+        while (next < sortedChanged.length) {
+            order[count++] = sortedChanged[next++];
+        }
+        return order;
+    }
+
+    private int compare(Field field, int a, int b) {
+        int result = switch (field) {
+            case ID -> Long.compare(ids[a], ids[b]);
+            case PRICE -> Double.compare(prices[a], prices[b]);
+            case CREATION_DATE -> Long.compare(creationDates[a], creationDates[b]);
+            case UPDATE_DATE -> Long.compare(updateDates[a], updateDates[b]);
+        };
+        // Départage par id, c'est-à-dire par ligne
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    private ProductResponse toResponse(int row) {
+        return new ProductResponse(ids[row], names[row], descriptions[row],
+                Double.isNaN(prices[row]) ? null : prices[row],
+                toDate(creationDates[row]), toDate(updateDates[row]));
+    }
+
+    private static String intern(Map<String, String> dictionary, String description) {
+        return description == null ? null : dictionary.computeIfAbsent(description, value -> value);
+    }
+
+    private static double toColumn(Double price) {
+        return price == null ? Double.NaN : price;
+    }
+
+    private static long toColumn(LocalDateTime date) {
+        if (date == null) {
+            return NULL_DATE;
+        }
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + date.getNano() / 1_000;
+    }
+
+    private static LocalDateTime toDate(long micros) {
+        if (micros == NULL_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
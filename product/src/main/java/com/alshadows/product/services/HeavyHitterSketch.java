@@ -0,0 +1,200 @@
+package com.alshadows.product.services;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Détection des clés les plus fréquentes d'un flux en mémoire constante :
+ * un Count-Min Sketch estime la fréquence de chaque clé, et un ensemble borné de candidats
+ * retient celles dont l'estimation est la plus élevée.
+ * Les compteurs sont tenus sur deux fenêtres (courante et précédente) : l'estimation pondère la fenêtre
+ * précédente par la part de la fenêtre courante restant à couvrir, ce qui fait oublier progressivement l'ancien trafic.
+ * L'enregistrement est sans verrou : incréments atomiques, et nettoyage des candidats par un seul thread à la fois.
+ * Chaque ligne hache la clé entière (chaînes caractère par caractère, ids longs sur 64 bits) avec sa propre graine,
+ * tirée au hasard par instance : deux clés de même {@code hashCode} ne partagent pas leurs compteurs sur toutes
+ * les lignes, et un client ne peut pas fabriquer de collisions pour gonfler ou masquer un terme.
+ */
+public class HeavyHitterSketch<K> {
+
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Clé fréquente : nombre estimé d'occurrences sur la fenêtre glissante et débit correspondant.
+     */
+    public record HeavyHitter<K>(K key, long estimatedCount, double ratePerSecond) {
+    }
+
+    private record Windows(AtomicLongArray current, AtomicLongArray previous, long currentStart) {
+    }
+
+    private final int depth;
+    private final long[] seeds;
+    private final int widthMask;
+    private final int capacity;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final AtomicReference<Windows> windows;
+    private final ConcurrentHashMap<K, Boolean> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    // Estimation minimale pour entrer dans les candidats une fois ceux-ci pleins.
+    private volatile long admissionThreshold;
+
+    public HeavyHitterSketch(int depth, int width, int capacity, Duration window) {
+        this(depth, width, capacity, window, System::nanoTime);
+    }
+
+    HeavyHitterSketch(int depth, int width, int capacity, Duration window, LongSupplier clock) {
+        if (depth < 1 || depth > MAX_DEPTH || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be in [1, " + MAX_DEPTH + "] and width a power of two");
+        }
+        this.depth = depth;
+        this.seeds = new SecureRandom().longs(depth).toArray();
+        this.widthMask = width - 1;
+        this.capacity = capacity;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.windows = new AtomicReference<>(
+                new Windows(new AtomicLongArray(depth * width), new AtomicLongArray(depth * width), clock.getAsLong()));
+    }
+
+    /**
+     * Enregistre une occurrence de la clé.
+     */
+    public void record(K key) {
+        Windows current = rotateIfNeeded(clock.getAsLong());
+        long minimum = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            minimum = Math.min(minimum, current.current().incrementAndGet(index(row, key)));
+        }
+
+        if (minimum >= admissionThreshold || candidates.size() < capacity) {
+            candidates.putIfAbsent(key, Boolean.TRUE);
+            if (candidates.size() > capacity * 2 && trimming.compareAndSet(false, true)) {
+                try {
+                    trim();
+                } finally {
+                    trimming.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimation du nombre d'occurrences de la clé sur la fenêtre glissante.
+     */
+    public long estimate(K key) {
+        long now = clock.getAsLong();
+        Windows current = rotateIfNeeded(now);
+        return estimate(current, key, previousWeight(current, now));
+    }
+
+    /**
+     * Retourne au plus {@code limit} clés parmi les plus fréquentes, par estimation décroissante.
+     */
+    public List<HeavyHitter<K>> top(int limit) {
+        long now = clock.getAsLong();
+        Windows current = rotateIfNeeded(now);
+        double weight = previousWeight(current, now);
+        double seconds = windowNanos / 1e9;
+
+        List<HeavyHitter<K>> hitters = new ArrayList<>(candidates.size());
+        for (K key : candidates.keySet()) {
+            long count = estimate(current, key, weight);
+            if (count > 0) {
+                hitters.add(new HeavyHitter<>(key, count, count / seconds));
+            }
+        }
+        hitters.sort(Comparator.comparingLong((HeavyHitter<K> hitter) -> hitter.estimatedCount()).reversed());
+        return hitters.size() > limit ? new ArrayList<>(hitters.subList(0, limit)) : hitters;
+    }
+
+    private long estimate(Windows current, K key, double previousWeight) {
+        long currentMinimum = Long.MAX_VALUE;
+        long previousMinimum = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, key);
+            currentMinimum = Math.min(currentMinimum, current.current().get(index));
+            previousMinimum = Math.min(previousMinimum, current.previous().get(index));
+        }
+        return currentMinimum + Math.round(previousMinimum * previousWeight);
+    }
+
+    // Part de la fenêtre précédente encore couverte par la fenêtre glissante.
+    private double previousWeight(Windows current, long now) {
+        double elapsed = (double) (now - current.currentStart()) / windowNanos;
+        return Math.max(0, 1 - elapsed);
+    }
+
+    private Windows rotateIfNeeded(long now) {
+        Windows current = windows.get();
+        long elapsed = now - current.currentStart();
+        if (elapsed < windowNanos) {
+            return current;
+        }
+
+        // Après plus de deux fenêtres sans trafic, la fenêtre précédente est vide elle aussi
+        AtomicLongArray previous = elapsed < windowNanos * 2 ? current.current() : new AtomicLongArray(current.current().length());
+        long start = current.currentStart() + (elapsed / windowNanos) * windowNanos;
+        Windows rotated = new Windows(new AtomicLongArray(current.current().length()), previous, start);
+        if (windows.compareAndSet(current, rotated)) {
+            admissionThreshold /= 2;
+            return rotated;
+        }
+        return windows.get();
+    }
+
+    // Garde les {@code capacity} candidats les plus fréquents et relève le seuil d'admission.
+    private void trim() {
+        List<HeavyHitter<K>> hitters = top(capacity);
+        Set<K> kept = new HashSet<>(hitters.size() * 2);
+        hitters.forEach(hitter -> kept.add(hitter.key()));
+        candidates.keySet().retainAll(kept);
+        if (hitters.size() == capacity) {
+            admissionThreshold = hitters.get(capacity - 1).estimatedCount();
+        }
+    }
+
+    private int index(int row, K key) {
+        return row * (widthMask + 1) + (int) (hash(key, seeds[row]) & widthMask);
+    }
+
+    // Hachage 64 bits de la clé entière ; hashCode seulement pour les autres types de clés
+    private static long hash(Object key, long seed) {
+        long hash;
+        if (key instanceof Long value) {
+            hash = value ^ seed;
+        } else if (key instanceof CharSequence text) {
+            hash = seed ^ text.length();
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * 0x9E3779B97F4A7C15L;
+                hash ^= hash >>> 32;
+            }
+        } else {
+            hash = key.hashCode() ^ seed;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        long mixed = hash * 0xBF58476D1CE4E5B9L;
+        mixed ^= mixed >>> 31;
+        mixed *= 0x94D049BB133111EBL;
+        mixed ^= mixed >>> 29;
+        return mixed;
+    }
+
+    int candidateCount() {
+        return candidates.size();
+    }
+}
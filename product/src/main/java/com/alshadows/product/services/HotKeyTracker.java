@@ -0,0 +1,79 @@
+package com.alshadows.product.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Suit les ids de produits et les termes de recherche les plus demandés, en mémoire constante,
+ * pour dimensionner les caches et repérer les clients abusifs sans journaliser chaque requête.
+ */
+@Component
+public class HotKeyTracker {
+
+    private final Duration window;
+    private final HeavyHitterSketch<Long> products;
+    private final HeavyHitterSketch<String> searchTerms;
+    private final HeavyHitterSketch<String> publicQueries;
+
+    public HotKeyTracker(@Value("${app.catalog.hotkeys.window:PT1M}") Duration window,
+                         @Value("${app.catalog.hotkeys.depth:4}") int depth,
+                         @Value("${app.catalog.hotkeys.width:2048}") int width,
+                         @Value("${app.catalog.hotkeys.top-k:100}") int topK) {
+        this.window = window;
+        this.products = new HeavyHitterSketch<>(depth, width, topK, window);
+        this.searchTerms = new HeavyHitterSketch<>(depth, width, topK, window);
+        this.publicQueries = new HeavyHitterSketch<>(depth, width, topK, window);
+    }
+
+    public void recordProduct(Long id) {
+        products.record(id);
+    }
+
+    public void recordSearchTerm(String searchTerm) {
+        if (searchTerm != null && !searchTerm.isBlank()) {
+            searchTerms.record(normalize(searchTerm));
+        }
+    }
+
+    /**
+     * Nombre estimé de recherches de ce terme sur la fenêtre glissante.
+     */
+    public long searchTermCount(String searchTerm) {
+        return searchTerm == null || searchTerm.isBlank() ? 0 : searchTerms.estimate(normalize(searchTerm));
+    }
+
+    /**
+     * Enregistre une requête filtrée du catalogue public, par URL normalisée.
+     */
+    public void recordPublicQuery(String url) {
+        publicQueries.record(url);
+    }
+
+    /**
+     * Nombre estimé de requêtes de cette URL du catalogue public sur la fenêtre glissante.
+     */
+    public long publicQueryCount(String url) {
+        return publicQueries.estimate(url);
+    }
+
+    // Les variantes de casse et d'espaces d'un même terme sont comptées ensemble
+    private static String normalize(String searchTerm) {
+        return searchTerm.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public List<HeavyHitterSketch.HeavyHitter<Long>> topProducts(int limit) {
+        return products.top(limit);
+    }
+
+    public List<HeavyHitterSketch.HeavyHitter<String>> topSearchTerms(int limit) {
+        return searchTerms.top(limit);
+    }
+}
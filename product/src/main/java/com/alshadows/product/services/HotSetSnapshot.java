@@ -0,0 +1,159 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.mapper.ProductMapper;
+import com.alshadows.product.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sauvegarde les ids des produits les plus demandés dans un fichier local (à l'arrêt et périodiquement)
+ * et les recharge dans {@link ProductCache} au démarrage, par lots via {@code findAllById},
+ * pour éviter qu'une instance fraîchement déployée envoie tout son trafic à la base.
+ * Seuls les ids sont sauvegardés : les produits sont relus depuis la base et ne peuvent donc pas être périmés.
+ * L'instance reste OUT_OF_SERVICE sur /actuator/health tant que le préchargement n'est pas terminé.
+ */
+@Component
+@Slf4j
+public class HotSetSnapshot implements ApplicationRunner, HealthIndicator {
+
+    // Format : MAGIC, nombre d'ids, puis les ids (long), du plus chaud au moins chaud.
+    private static final int MAGIC = 0x484f5431;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final ProductCache productCache;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final Path path;
+    private final int maxIds;
+    private final int chunkSize;
+
+    private volatile boolean prewarmed;
+    private volatile int prewarmedCount;
+
+    public HotSetSnapshot(ProductCache productCache,
+                          ProductRepository productRepository,
+                          ProductMapper productMapper,
+                          @Value("${app.catalog.cache.snapshot.path:${java.io.tmpdir}/product-hotset.bin}") Path path,
+                          @Value("${app.catalog.cache.snapshot.max-ids:5000}") int maxIds,
+                          @Value("${app.catalog.cache.snapshot.prewarm-chunk-size:500}") int chunkSize) {
+        this.productCache = productCache;
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.path = path;
+        this.maxIds = maxIds;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            prewarm();
+        } catch (IOException | RuntimeException e) {
+            // Un fichier absent ou illisible ne doit pas empêcher le démarrage : le cache se remplira au fil des lectures
+            log.warn("Unable to prewarm product cache from {}: {}", path, e.getMessage());
+        } finally {
+            prewarmed = true;
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = prewarmed ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("prewarmedProducts", prewarmedCount)
+                .withDetail("cachedProducts", productCache.size())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.cache.snapshot.interval:PT1M}",
+            initialDelayString = "${app.catalog.cache.snapshot.interval:PT1M}")
+    public void scheduledSave() {
+        save();
+    }
+
+    @PreDestroy
+    public void save() {
+        if (!prewarmed) {
+            // Ne pas remplacer un instantané qui n'a pas encore été rechargé
+            return;
+        }
+        List<Long> ids = productCache.hottestIds(maxIds);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (OutputStream file = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(ids.size());
+                for (Long id : ids) {
+                    out.writeLong(id);
+                }
+            }
+            // Remplacement atomique : un arrêt brutal laisse l'ancien ou le nouvel instantané, jamais un fichier tronqué
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved {} hot product ids to {}", ids.size(), path);
+        } catch (IOException e) {
+            log.warn("Unable to save hot product snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void prewarm() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Long> ids = readIds();
+        long generation = productCache.generation();
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            productRepository.findAllById(chunk).forEach(product -> {
+                productCache.putIfAbsent(productMapper.toResponse(product), generation);
+                prewarmedCount++;
+            });
+        }
+        log.info("Product cache prewarmed with {} of {} snapshot ids in {} ms",
+                prewarmedCount, ids.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<Long> readIds() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("not a hot product snapshot");
+            }
+            int count = Math.min(buffer.getInt(), maxIds);
+            if ((long) count * Long.BYTES > buffer.remaining()) {
+                throw new IOException("truncated hot product snapshot");
+            }
+
+            List<Long> ids = new ArrayList<>(count);
+            ByteBuffer data = buffer.slice();
+            for (int i = 0; i < count; i++) {
+                ids.add(data.getLong());
+            }
+            return ids;
+        }
+    }
+}
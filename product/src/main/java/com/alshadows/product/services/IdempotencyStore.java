@@ -0,0 +1,164 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.exceptions.ProductException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Mémorise les réponses des écritures portant un en-tête {@code Idempotency-Key} afin qu'une requête
+ * rejouée par le client (même clé, même contenu) reçoive la réponse d'origine sans nouvel appel au service.
+ * Le stockage est borné en nombre d'entrées et chaque entrée expire après la durée configurée.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // Ordre d'insertion : avec une durée de vie fixe, les entrées les plus anciennes expirent en premier.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${app.idempotency.ttl:1h}") Duration ttl,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Exécute l'écriture une seule fois par clé d'idempotence.
+     *
+     * @param idempotencyKey La clé fournie par le client, ou null pour une exécution sans idempotence.
+     * @param operation      L'opération ("POST /api/v1/products", ...), prise en compte dans l'empreinte.
+     * @param body           Le corps de la requête, dont l'empreinte doit être identique lors d'un rejeu.
+     * @param action         L'écriture à exécuter.
+     * @return La réponse de l'écriture, ou celle mémorisée lors de la première exécution.
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object body,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = currentUser() + ":" + idempotencyKey;
+        String requestHash = hash(operation, body);
+        ResponseEntity<T> stored = reserve(key, requestHash);
+        if (stored != null) {
+            log.debug("Replaying stored response for idempotency key {}", idempotencyKey);
+            return ResponseEntity.status(stored.getStatusCode())
+                    .headers(stored.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(stored.getBody());
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            complete(key, response);
+            return response;
+        } catch (RuntimeException e) {
+            // Les échecs ne sont pas mémorisés : le client peut réessayer avec la même clé
+            release(key);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> ResponseEntity<T> reserve(String key, String requestHash) {
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entries.put(key, new Entry(requestHash, now + ttlNanos));
+            if (entries.size() > maxEntries) {
+                Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            return null;
+        }
+        if (!entry.requestHash.equals(requestHash)) {
+            throw new ProductException(
+                    "La clé d'idempotence a déjà été utilisée pour une requête différente",
+                    "IDEMPOTENCY_KEY_REUSED",
+                    HttpStatus.UNPROCESSABLE_ENTITY
+            );
+        }
+        if (entry.response == null) {
+            throw new ProductException(
+                    "Une requête avec cette clé d'idempotence est en cours de traitement",
+                    "IDEMPOTENCY_REQUEST_IN_PROGRESS",
+                    HttpStatus.CONFLICT
+            );
+        }
+        return (ResponseEntity<T>) entry.response;
+    }
+
+    private synchronized void complete(String key, ResponseEntity<?> response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response = response;
+        }
+    }
+
+    private synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    private String hash(String operation, Object body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(body));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Unable to hash idempotent request", e);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static final class Entry {
+        private final String requestHash;
+        private final long expiresAt;
+        // Null tant que la première exécution n'est pas terminée.
+        private ResponseEntity<?> response;
+
+        private Entry(String requestHash, long expiresAt) {
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
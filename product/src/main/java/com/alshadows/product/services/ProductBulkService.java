@@ -0,0 +1,11 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.BulkDeleteRequest;
+import com.alshadows.product.dto.product.BulkOperationResponse;
+import com.alshadows.product.dto.product.BulkRepriceRequest;
+
+public interface ProductBulkService {
+    BulkOperationResponse deleteProducts(BulkDeleteRequest request);
+
+    BulkOperationResponse repriceProducts(BulkRepriceRequest request);
+}
@@ -0,0 +1,227 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardContext;
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.BulkDeleteRequest;
+import com.alshadows.product.dto.product.BulkOperationResponse;
+import com.alshadows.product.dto.product.BulkRepriceRequest;
+import com.alshadows.product.dto.product.ProductFilter;
+import com.alshadows.product.events.ProductsBulkChangedEvent;
+import com.alshadows.product.exceptions.ProductException;
+import com.alshadows.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opérations de masse sur le catalogue, exécutées par lots : chaque lot est une requête ensembliste
+ * dans sa propre transaction courte, de façon à ne jamais verrouiller la table ni monopoliser le pool.
+ */
+@Service
+@Slf4j
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final boolean softDelete;
+    // Présent avec le partitionnement : chaque opération est répétée sur chaque base
+    private final ShardRouter shardRouter;
+
+    public ProductBulkServiceImpl(ProductRepository productRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${app.catalog.bulk.chunk-size:1000}") int chunkSize,
+                                  @Value("${app.catalog.delete.mode:hard}") String deleteMode,
+                                  ObjectProvider<ShardRouter> shardRouter) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.softDelete = "soft".equalsIgnoreCase(deleteMode);
+        this.shardRouter = shardRouter.getIfAvailable();
+    }
+
+    @Override
+    public BulkOperationResponse deleteProducts(BulkDeleteRequest request) {
+        log.info("Bulk deleting products ({} mode)", softDelete ? "soft" : "hard");
+
+        List<Long> affectedIds = new ArrayList<>();
+        Function<List<Long>, Integer> deleteChunk = ids -> softDelete
+                ? productRepository.softDeleteAllByIdIn(ids, LocalDateTime.now())
+                : productRepository.deleteAllByIdIn(ids);
+        BulkOperationResponse response;
+        try {
+            response = forEachChunk(request.getIds(), request.getFilter(), affectedIds, deleteChunk,
+                    softDelete ? "soft" : "hard");
+        } finally {
+            publishCommittedChunks(ProductsBulkChangedEvent.Type.DELETED, affectedIds);
+        }
+        log.info("Bulk delete removed {} products in {} chunks", response.getAffectedCount(), response.getChunkCount());
+        return response;
+    }
+
+    @Override
+    public BulkOperationResponse repriceProducts(BulkRepriceRequest request) {
+        log.info("Bulk repricing products ({} mode)", request.getMode());
+
+        List<Long> affectedIds = new ArrayList<>();
+        String mode = request.getMode().name().toLowerCase(Locale.ROOT);
+        BulkOperationResponse response;
+        try {
+            response = reprice(request, affectedIds, mode);
+        } finally {
+            publishCommittedChunks(ProductsBulkChangedEvent.Type.UPDATED, affectedIds);
+        }
+        log.info("Bulk repricing updated {} products in {} chunks", response.getAffectedCount(), response.getChunkCount());
+        return response;
+    }
+
+    private BulkOperationResponse reprice(BulkRepriceRequest request, List<Long> affectedIds, String mode) {
+        return switch (request.getMode()) {
+            case ABSOLUTE -> {
+                double price = requireValue(request, 0);
+                yield forEachChunk(request.getIds(), request.getFilter(), affectedIds,
+                        ids -> productRepository.updatePriceByIdIn(ids, price, LocalDateTime.now()), mode);
+            }
+            case PERCENTAGE -> {
+                double factor = 1 + requireValue(request, -100) / 100;
+                yield forEachChunk(request.getIds(), request.getFilter(), affectedIds,
+                        ids -> productRepository.scalePriceByIdIn(ids, factor, LocalDateTime.now()), mode);
+            }
+            case PER_ID -> {
+                Map<Long, Double> prices = requirePrices(request);
+                yield forEachChunk(List.copyOf(prices.keySet()), null, affectedIds,
+                        ids -> productRepository.updatePrices(ids.toArray(Long[]::new),
+                                ids.stream().map(prices::get).toArray(Double[]::new), LocalDateTime.now()), mode);
+            }
+        };
+    }
+
+    /**
+     * Annonce les lots validés, y compris quand un lot suivant a échoué : sans cela, les vues en mémoire
+     * continueraient de servir les produits déjà modifiés en base.
+     */
+    private void publishCommittedChunks(ProductsBulkChangedEvent.Type type, List<Long> affectedIds) {
+        if (!affectedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsBulkChangedEvent(type, List.copyOf(affectedIds)));
+        }
+    }
+
+    private static double requireValue(BulkRepriceRequest request, double minimum) {
+        if (request.getPrices() != null || request.getValue() == null || request.getValue() < minimum) {
+            throw new ProductException(
+                    "Le mode " + request.getMode() + " requiert une valeur supérieure ou égale à " + minimum
+                            + " et aucune liste de prix",
+                    "INVALID_REPRICE_REQUEST"
+            );
+        }
+        return request.getValue();
+    }
+
+    private static Map<Long, Double> requirePrices(BulkRepriceRequest request) {
+        Map<Long, Double> prices = request.getPrices();
+        boolean invalid = prices == null || prices.isEmpty()
+                || prices.values().stream().anyMatch(price -> price == null || price < 0);
+        if (invalid || request.getValue() != null || request.getIds() != null || request.getFilter() != null) {
+            throw new ProductException(
+                    "Le mode PER_ID requiert uniquement une liste de prix positifs par id",
+                    "INVALID_REPRICE_REQUEST"
+            );
+        }
+        return prices;
+    }
+
+    /**
+     * Applique l'opération aux produits désignés, soit par la liste d'ids, soit par le filtre,
+     * par lots de {@code chunkSize} ids, chaque lot dans sa propre transaction.
+     * Avec le partitionnement, l'opération est appliquée base par base.
+     */
+    private BulkOperationResponse forEachChunk(List<Long> ids, ProductFilter filter, List<Long> affectedIds,
+                                               Function<List<Long>, Integer> operation, String mode) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasFilter = filter != null && !filter.isEmpty();
+        if (hasIds == hasFilter) {
+            throw new ProductException(
+                    "Une opération de masse requiert soit une liste d'ids, soit un filtre non vide",
+                    "INVALID_BULK_REQUEST"
+            );
+        }
+
+        if (shardRouter == null) {
+            return hasIds
+                    ? applyToIds(ids, affectedIds, operation, mode)
+                    : applyToFilter(filter, affectedIds, operation, mode);
+        }
+        long affected = 0;
+        int chunks = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int target = shard;
+            BulkOperationResponse response = ShardContext.call(shard, () -> hasIds
+                    ? applyToIds(ids.stream().filter(id -> shardRouter.shardOf(id) == target).toList(),
+                    affectedIds, operation, mode)
+                    : applyToFilter(filter, affectedIds, operation, mode));
+            affected += response.getAffectedCount();
+            chunks += response.getChunkCount();
+        }
+        return new BulkOperationResponse(affected, chunks, mode);
+    }
+
+    private BulkOperationResponse applyToIds(List<Long> ids, List<Long> affectedIds,
+                                             Function<List<Long>, Integer> operation, String mode) {
+        long affected = 0;
+        int chunks = 0;
+        List<Long> distinctIds = ids.stream().distinct().sorted().toList();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            affected += transactionTemplate.execute(status -> operation.apply(chunk));
+            affectedIds.addAll(chunk);
+            chunks++;
+        }
+        return new BulkOperationResponse(affected, chunks, mode);
+    }
+
+    private BulkOperationResponse applyToFilter(ProductFilter filter, List<Long> affectedIds,
+                                                Function<List<Long>, Integer> operation, String mode) {
+        long affected = 0;
+        int chunks = 0;
+        String namePrefix = toLikePrefix(filter.getNamePrefix());
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            long lastId = afterId;
+            List<Long> chunk = transactionTemplate.execute(status -> productRepository.findIdsByFilter(
+                    lastId, namePrefix, filter.getMinPrice(), filter.getMaxPrice(), Limit.of(chunkSize)));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            affected += transactionTemplate.execute(status -> operation.apply(chunk));
+            affectedIds.addAll(chunk);
+            afterId = chunk.get(chunk.size() - 1);
+            chunks++;
+        }
+        return new BulkOperationResponse(affected, chunks, mode);
+    }
+
+    // Préfixe en minuscules, les caractères spéciaux de LIKE échappés
+    private static String toLikePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,158 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.events.ProductChangedEvent;
+import com.alshadows.product.events.ProductsBulkChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache borné des produits lus par id, lu sans verrou.
+ * Chaque entrée expire {@code ttl} après son écriture : les écritures des autres instances, qui ne passent pas
+ * par les événements de celle-ci, sont reprises au plus tard après ce délai.
+ * Au-delà de {@code max-entries}, les entrées les moins récemment lues sont retirées par lot.
+ * L'ordre d'accès sert aussi à désigner les produits les plus demandés, sauvegardés par {@link HotSetSnapshot}.
+ * Les écritures du service remplacent ou retirent l'entrée après le commit ; un chargement concurrent
+ * n'écrase jamais une entrée existante et est ignoré si une entrée a été retirée pendant qu'il s'exécutait,
+ * pour ne pas réinsérer une version antérieure à l'écriture.
+ */
+@Component
+public class ProductCache {
+
+    // Part des entrées gardée après un dépassement de la taille maximale, pour n'avoir à trier que rarement
+    private static final double EVICTION_TARGET = 0.9;
+
+    private static final class Entry {
+        private final ProductResponse product;
+        private final long writtenAt;
+        private volatile long accessedAt;
+
+        private Entry(ProductResponse product, long now) {
+            this.product = product;
+            this.writtenAt = now;
+            this.accessedAt = now;
+        }
+    }
+
+    // Instant d'accès figé pour le tri : accessedAt peut changer pendant celui-ci
+    private record Access(Long id, Entry entry, long accessedAt) {
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Incrémentée avant chaque retrait : un chargement commencé avant un retrait ne doit pas être mis en cache.
+    private final AtomicLong generation = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    public ProductCache(@Value("${app.catalog.cache.max-entries:10000}") int maxEntries,
+                        @Value("${app.catalog.cache.ttl:PT5M}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public ProductResponse get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - entry.writtenAt > ttlNanos) {
+            entries.remove(id, entry);
+            return null;
+        }
+        entry.accessedAt = now;
+        return entry.product;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Ajoute un produit chargé depuis la base, sauf si une version plus récente est déjà en cache
+     * ou si des entrées ont été retirées depuis {@code loadGeneration}, lue avant le chargement.
+     */
+    public void putIfAbsent(ProductResponse product, long loadGeneration) {
+        if (loadGeneration != generation.get()) {
+            return;
+        }
+        Entry entry = new Entry(product, System.nanoTime());
+        if (entries.putIfAbsent(product.getId(), entry) != null) {
+            return;
+        }
+        // Un retrait concurrent a pu passer entre la vérification et l'ajout : l'entrée est alors retirée
+        if (loadGeneration != generation.get()) {
+            entries.remove(product.getId(), entry);
+            return;
+        }
+        evictIfFull();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retourne au plus {@code limit} ids, du plus récemment accédé au plus ancien.
+     */
+    public List<Long> hottestIds(int limit) {
+        List<Access> accesses = byAccess();
+        List<Long> ids = new ArrayList<>(Math.min(limit, accesses.size()));
+        for (int i = accesses.size() - 1; i >= 0 && ids.size() < limit; i--) {
+            ids.add(accesses.get(i).id());
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeletion()) {
+            generation.incrementAndGet();
+            entries.remove(event.getProductId());
+        } else if (!event.isCreation()) {
+            entries.put(event.getProductId(), new Entry(event.getCurrent(), System.nanoTime()));
+            evictIfFull();
+        }
+    }
+
+    @EventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        // Les nouvelles valeurs ne sont pas connues : les produits seront relus à la prochaine demande
+        generation.incrementAndGet();
+        event.getProductIds().forEach(entries::remove);
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        synchronized (evictionLock) {
+            int excess = entries.size() - (int) (maxEntries * EVICTION_TARGET);
+            if (excess <= 0) {
+                return;
+            }
+            List<Access> accesses = byAccess();
+            for (Access eldest : accesses.subList(0, Math.min(excess, accesses.size()))) {
+                entries.remove(eldest.id(), eldest.entry());
+            }
+        }
+    }
+
+    // Entrées du moins au plus récemment accédé
+    private List<Access> byAccess() {
+        List<Access> accesses = new ArrayList<>(entries.size());
+        entries.forEach((id, entry) -> accesses.add(new Access(id, entry, entry.accessedAt)));
+        accesses.sort(Comparator.comparingLong(Access::accessedAt));
+        return accesses;
+    }
+}
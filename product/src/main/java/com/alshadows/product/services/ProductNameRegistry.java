@@ -0,0 +1,81 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardContext;
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.datasource.ShardingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Table de routage des noms de produits ({@code product_names}), qui garantit leur unicité entre les bases
+ * partitionnées. Un nom est réservé pour un id avant l'écriture du produit et libéré après sa suppression ou
+ * son renommage. Une réservation dont le produit n'existe pas (écriture interrompue, suppression de masse)
+ * est reprise par la réservation suivante du même nom, mais seulement une fois plus ancienne que
+ * {@code app.datasource.sharding.name-reservation-grace} : plus récente, elle peut appartenir à une création
+ * pas encore validée, et la reprendre laisserait deux produits porter le même nom.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductNameRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ShardingProperties shardingProperties;
+
+    /**
+     * Réserve le nom pour le produit ; false s'il appartient déjà à un autre produit existant.
+     */
+    public boolean reserve(String name, long productId) {
+        return ShardContext.call(shardRouter.shardOfName(name), () -> {
+            int inserted = jdbcTemplate.update(
+                    "INSERT INTO product_names (name, product_id) VALUES (?, ?) ON CONFLICT (name) DO NOTHING",
+                    name, productId);
+            if (inserted == 1) {
+                return true;
+            }
+            List<Long> holders = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM product_names WHERE name = ?", Long.class, name);
+            if (holders.isEmpty()) {
+                // Libéré entre-temps
+                return reserve(name, productId);
+            }
+            long holder = holders.get(0);
+            if (holder == productId) {
+                return true;
+            }
+            if (productExists(holder)) {
+                return false;
+            }
+            // Horloge de la base pour la réservation comme pour la comparaison : pas d'écart entre instances
+            int reclaimed = jdbcTemplate.update("UPDATE product_names SET product_id = ?, reserved_at = now() "
+                            + "WHERE name = ? AND product_id = ? AND reserved_at < now() - make_interval(secs => ?)",
+                    productId, name, holder, shardingProperties.getNameReservationGrace().toMillis() / 1000.0);
+            if (reclaimed == 1) {
+                log.info("Reclaimed product name reserved by missing product {}", holder);
+            }
+            return reclaimed == 1;
+        });
+    }
+
+    public void release(String name, long productId) {
+        ShardContext.run(shardRouter.shardOfName(name), () -> jdbcTemplate.update(
+                "DELETE FROM product_names WHERE name = ? AND product_id = ?", name, productId));
+    }
+
+    private boolean productExists(long productId) {
+        int shard = shardRouter.shardOf(productId);
+        if (shard < 0) {
+            return false;
+        }
+        // Les produits supprimés logiquement libèrent leur nom, comme existsByName sans partitionnement
+        return ShardContext.call(shard, () -> !jdbcTemplate.queryForList(
+                "SELECT 1 FROM products WHERE id = ? AND deleted = false", Integer.class, productId).isEmpty());
+    }
+}
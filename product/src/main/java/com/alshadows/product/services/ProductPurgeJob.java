@@ -0,0 +1,58 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * En mode suppression logique, purge en tâche de fond les produits marqués supprimés,
+ * par petits lots indépendants pour limiter la durée des verrous.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalog.delete.mode", havingValue = "soft")
+@Slf4j
+public class ProductPurgeJob {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    public ProductPurgeJob(ProductRepository productRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${app.catalog.delete.purge-batch-size:500}") int batchSize,
+                           @Value("${app.catalog.delete.purge-max-batches:20}") int maxBatchesPerRun,
+                           ObjectProvider<ShardRouter> shardRouter) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.shardRouter = shardRouter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.delete.purge-interval:PT1M}")
+    public void purge() {
+        ShardRouter.forEachShard(shardRouter.getIfAvailable(), this::purgeCurrentShard);
+    }
+
+    private void purgeCurrentShard() {
+        long purged = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = transactionTemplate.execute(status -> productRepository.purgeSoftDeleted(batchSize));
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted products", purged);
+        }
+    }
+}
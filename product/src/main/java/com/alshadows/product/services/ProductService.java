@@ -2,14 +2,21 @@ package com.alshadows.product.services;
 
 import com.alshadows.product.dto.product.ProductDTO;
 import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductStatsResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ProductService {
     ProductResponse createProduct(ProductDTO productDto);
     ProductResponse getProduct(Long id);
     ProductResponse updateProduct(Long id, ProductDTO productDto);
     void deleteProduct(Long id);
     Page<ProductResponse> getAllProducts(Pageable pageable);
+    Page<ProductResponse> getProductsByPrice(Double minPrice, Double maxPrice, Pageable pageable);
     Page<ProductResponse> searchProducts(String searchTerm, Pageable pageable);
+    List<ProductSuggestion> suggestProducts(String prefix, int limit);
+    ProductStatsResponse getProductStats();
 }
@@ -2,17 +2,24 @@ package com.alshadows.product.services;
 
 import com.alshadows.product.dto.product.ProductDTO;
 import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductStatsResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
+import com.alshadows.product.events.ProductChangedEvent;
 import com.alshadows.product.exceptions.ProductException;
 import com.alshadows.product.mapper.ProductMapper;
 import com.alshadows.product.model.Product;
 import com.alshadows.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -21,10 +28,13 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductStatistics productStatistics;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ProductResponse createProduct(ProductDTO productDto) {
-        log.info("Creating new product with name: {}", productDto.getName());
+        log.debug("Creating new product with name: {}", productDto.getName());
 
         // Vérifier si le produit existe déjà
         if (productRepository.existsByName(productDto.getName())) {
@@ -39,12 +49,15 @@ public class ProductServiceImpl implements ProductService {
         Product savedProduct = productRepository.save(product);
 
         log.info("Product created successfully with id: {}", savedProduct.getId());
-        return productMapper.toResponse(savedProduct);
+        ProductResponse response = productMapper.toResponse(savedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.created(response));
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponse getProduct(Long id) {
-        log.info("Fetching product with id: {}", id);
+        log.debug("Fetching product with id: {}", id);
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductException(
@@ -57,7 +70,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public ProductResponse updateProduct(Long id, ProductDTO productDto) {
-        log.info("Updating product with id: {}", id);
+        log.debug("Updating product with id: {}", id);
 
         // Vérifier si le produit existe
         Product existingProduct = productRepository.findById(id)
@@ -75,45 +88,69 @@ public class ProductServiceImpl implements ProductService {
             );
         }
 
-        // Mettre à jour le produit
+        // Mettre à jour le produit en conservant son état précédent pour les index en mémoire
+        ProductResponse previous = productMapper.toResponse(existingProduct);
         Product updatedProduct = productMapper.updateEntityFromDto(productDto, existingProduct);
         Product savedProduct = productRepository.save(updatedProduct);
 
         log.info("Product updated successfully with id: {}", savedProduct.getId());
-        return productMapper.toResponse(savedProduct);
+        ProductResponse response = productMapper.toResponse(savedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, response));
+        return response;
     }
 
     @Override
     public void deleteProduct(Long id) {
-        log.info("Deleting product with id: {}", id);
+        log.debug("Deleting product with id: {}", id);
 
-        // Vérifier si le produit existe
-        if (!productRepository.existsById(id)) {
-            throw new ProductException(
-                    "Produit non trouvé avec l'id: " + id,
-                    "PRODUCT_NOT_FOUND"
-            );
-        }
+        // Vérifier si le produit existe (deleteById le rechargerait de toute façon)
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductException(
+                        "Produit non trouvé avec l'id: " + id,
+                        "PRODUCT_NOT_FOUND"
+                ));
 
-        productRepository.deleteById(id);
+        productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(productMapper.toResponse(product)));
         log.info("Product deleted successfully with id: {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
-        log.info("Fetching products page: {}", pageable.getPageNumber());
+        log.debug("Fetching products page: {}", pageable.getPageNumber());
 
-        Page<Product> productPage = productRepository.findAll(pageable);
-        return productPage.map(productMapper::toResponse);
+        // Projection directe : évite les entités gérées et la copie de chaque élément par Page.map
+        return productRepository.findAllResponses(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> getProductsByPrice(Double minPrice, Double maxPrice, Pageable pageable) {
+        log.debug("Fetching products page: {} with price between {} and {}", pageable.getPageNumber(), minPrice, maxPrice);
+
+        return productRepository.findResponsesByPriceRange(minPrice, maxPrice, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String searchTerm, Pageable pageable) {
-        log.info("Searching products with term: {}", searchTerm);
+        log.debug("Searching products with term: {}", searchTerm);
 
-        Page<Product> productPage = productRepository.search(searchTerm, pageable);
-        return productPage.map(productMapper::toResponse);
+        return productRepository.searchResponses(searchTerm, pageable);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        // Servi uniquement depuis l'index en mémoire : aucune transaction ni connexion n'est ouverte
+        return productSuggestIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductStatsResponse getProductStats() {
+        // Agrégats maintenus en mémoire par ProductStatistics
+        return productStatistics.getSnapshot();
     }
 }
\ No newline at end of file
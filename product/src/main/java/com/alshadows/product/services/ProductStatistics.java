@@ -0,0 +1,256 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductStatsResponse;
+import com.alshadows.product.events.ProductChangedEvent;
+import com.alshadows.product.events.ProductsBulkChangedEvent;
+import com.alshadows.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistiques agrégées du catalogue (nombre de produits, prix min/max/moyen, histogramme des prix)
+ * maintenues de façon incrémentale à chaque écriture.
+ * Un instantané immuable est publié après chaque modification : la lecture est en O(1).
+ * Une réconciliation périodique compare les compteurs à un agrégat SQL et les reconstruit en cas d'écart.
+ */
+@Component
+@Slf4j
+public class ProductStatistics implements ApplicationRunner {
+
+    // Tolérance sur la somme des prix, qui accumule des erreurs d'arrondi en double.
+    private static final double SUM_TOLERANCE = 0.01;
+
+    private final ProductRepository productRepository;
+    private final ObjectProvider<ShardRouter> shardRouter;
+    // Bornes inférieures des tranches de l'histogramme, triées.
+    private final double[] bucketBounds;
+
+    // Multiensemble des prix (prix -> nombre de produits) pour garder min/max exacts après suppression.
+    private final TreeMap<Double, Long> priceCounts = new TreeMap<>();
+    private final long[] bucketCounts;
+    private long productCount;
+    private long pricedCount;
+    private double priceSum;
+    private LocalDateTime lastReconciledAt;
+    // Écritures reçues pendant une reconstruction, rejouées sur les compteurs reconstruits (null hors reconstruction)
+    private List<ProductChangedEvent> pendingChanges;
+
+    // Une seule reconstruction à la fois (démarrage, modification de masse, réconciliation)
+    private final Object rebuildLock = new Object();
+
+    private volatile ProductStatsResponse snapshot;
+
+    public ProductStatistics(ProductRepository productRepository,
+                             @Value("${app.catalog.stats.price-buckets:0,10,50,100,500,1000}") double[] bucketBounds,
+                             ObjectProvider<ShardRouter> shardRouter) {
+        this.productRepository = productRepository;
+        this.shardRouter = shardRouter;
+        this.bucketBounds = bucketBounds.clone();
+        Arrays.sort(this.bucketBounds);
+        this.bucketCounts = new long[this.bucketBounds.length];
+        this.snapshot = buildSnapshot();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    public ProductStatsResponse getSnapshot() {
+        return snapshot;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (pendingChanges != null) {
+            pendingChanges.add(event);
+        }
+        apply(event);
+        snapshot = buildSnapshot();
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.isCreation()) {
+            productCount++;
+        } else {
+            removePrice(event.getPrevious());
+        }
+        if (event.isDeletion()) {
+            productCount--;
+        } else {
+            addPrice(event.getCurrent());
+        }
+    }
+
+    @EventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        // Les anciens prix ne sont pas connus : les agrégats sont recalculés depuis la base
+        rebuild();
+    }
+
+    /**
+     * Compare les compteurs à un agrégat SQL et reconstruit l'état depuis la base s'ils divergent
+     * (écritures hors service, écart dû à une écriture concurrente d'une reconstruction, etc.).
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${app.catalog.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        // Une ligne d'agrégats par base avec le partitionnement, combinées ici
+        long count = 0;
+        long priced = 0;
+        double sum = 0;
+        Double min = null;
+        Double max = null;
+        for (Object[] aggregate : ShardRouter.gather(shardRouter.getIfAvailable(), productRepository::aggregatePrices)) {
+            count += ((Number) aggregate[0]).longValue();
+            priced += ((Number) aggregate[1]).longValue();
+            sum += aggregate[4] != null ? ((Number) aggregate[4]).doubleValue() : 0;
+            if (aggregate[2] != null) {
+                double shardMin = ((Number) aggregate[2]).doubleValue();
+                double shardMax = ((Number) aggregate[3]).doubleValue();
+                min = min == null ? shardMin : Math.min(min, shardMin);
+                max = max == null ? shardMax : Math.max(max, shardMax);
+            }
+        }
+
+        synchronized (this) {
+            boolean consistent = count == productCount
+                    && priced == pricedCount
+                    && Math.abs(sum - priceSum) <= SUM_TOLERANCE
+                    && (priced == 0 || (!priceCounts.isEmpty()
+                    && min.equals(priceCounts.firstKey()) && max.equals(priceCounts.lastKey())));
+            if (consistent) {
+                lastReconciledAt = LocalDateTime.now();
+                snapshot = buildSnapshot();
+                return;
+            }
+        }
+
+        log.warn("Product statistics drifted from database (count {} vs {}), rebuilding", productCount, count);
+        rebuild();
+    }
+
+    private void rebuild() {
+        synchronized (rebuildLock) {
+            rebuildCounters();
+        }
+    }
+
+    /**
+     * Recharge les compteurs depuis la base puis rejoue les écritures reçues pendant la requête, sans quoi
+     * elles seraient perdues au remplacement des compteurs. Une écriture validée juste avant la requête mais
+     * reçue après son lancement est comptée deux fois : la réconciliation périodique corrige cet écart.
+     */
+    private void rebuildCounters() {
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+        }
+        List<Object[]> rows;
+        try {
+            rows = ShardRouter.gather(shardRouter.getIfAvailable(), productRepository::countByPrice);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            priceCounts.clear();
+            Arrays.fill(bucketCounts, 0);
+            productCount = 0;
+            pricedCount = 0;
+            priceSum = 0;
+
+            for (Object[] row : rows) {
+                long count = ((Number) row[1]).longValue();
+                productCount += count;
+                if (row[0] != null) {
+                    addPrice(((Number) row[0]).doubleValue(), count);
+                }
+            }
+            for (ProductChangedEvent change : pendingChanges) {
+                apply(change);
+            }
+            pendingChanges = null;
+            lastReconciledAt = LocalDateTime.now();
+            snapshot = buildSnapshot();
+        }
+        log.info("Product statistics rebuilt from {} distinct prices", rows.size());
+    }
+
+    private void addPrice(ProductResponse product) {
+        if (product.getPrice() != null) {
+            addPrice(product.getPrice(), 1);
+        }
+    }
+
+    private void addPrice(double price, long count) {
+        priceCounts.merge(price, count, Long::sum);
+        pricedCount += count;
+        priceSum += price * count;
+        int bucket = bucketOf(price);
+        if (bucket >= 0) {
+            bucketCounts[bucket] += count;
+        }
+    }
+
+    private void removePrice(ProductResponse product) {
+        Double price = product.getPrice();
+        if (price == null) {
+            return;
+        }
+        // Prix inconnu des compteurs (écriture déjà reflétée par une reconstruction) : rien à retirer
+        if (priceCounts.computeIfPresent(price, (key, count) -> count > 1 ? count - 1 : 0L) == null) {
+            return;
+        }
+        priceCounts.remove(price, 0L);
+        pricedCount--;
+        priceSum -= price;
+        int bucket = bucketOf(price);
+        if (bucket >= 0) {
+            bucketCounts[bucket]--;
+        }
+    }
+
+    // Index de la tranche contenant le prix, -1 s'il est sous la première borne.
+    private int bucketOf(double price) {
+        int index = Arrays.binarySearch(bucketBounds, price);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private ProductStatsResponse buildSnapshot() {
+        List<ProductStatsResponse.PriceBucket> histogram = new ArrayList<>(bucketBounds.length);
+        for (int i = 0; i < bucketBounds.length; i++) {
+            Double upper = i + 1 < bucketBounds.length ? bucketBounds[i + 1] : null;
+            histogram.add(new ProductStatsResponse.PriceBucket(bucketBounds[i], upper, bucketCounts[i]));
+        }
+
+        Map.Entry<Double, Long> min = priceCounts.firstEntry();
+        Map.Entry<Double, Long> max = priceCounts.lastEntry();
+        return new ProductStatsResponse(
+                productCount,
+                min != null ? min.getKey() : null,
+                max != null ? max.getKey() : null,
+                pricedCount > 0 ? priceSum / pricedCount : null,
+                List.copyOf(histogram),
+                lastReconciledAt
+        );
+    }
+}
@@ -0,0 +1,161 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
+import com.alshadows.product.events.ProductChangedEvent;
+import com.alshadows.product.events.ProductsBulkChangedEvent;
+import com.alshadows.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Index en mémoire des noms de produits pour l'autocomplétion par préfixe.
+ * Les noms normalisés sont conservés triés : une recherche par préfixe se résume à un
+ * positionnement en O(log n) suivi de la lecture des k premières entrées, sans accès à la base.
+ * Les écritures reçues pendant la construction sont rejouées ensuite, pour qu'un nom lu avant une suppression
+ * ou un renommage ne reste pas dans l'index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggestIndex implements ApplicationRunner {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    // Séparateur placé entre le nom normalisé et l'id pour garder des clés uniques.
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ProductRepository productRepository;
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    // Clé "nom normalisé + séparateur + id" -> suggestion, triée lexicographiquement.
+    private final ConcurrentSkipListMap<String, ProductSuggestion> entries = new ConcurrentSkipListMap<>();
+    // Id -> clé courante, pour retirer l'ancienne entrée lors d'un renommage ou d'une suppression.
+    private final ConcurrentHashMap<Long, String> keysById = new ConcurrentHashMap<>();
+
+    // Écritures reçues pendant la construction, rejouées après celle-ci (null hors construction)
+    private List<ProductChangedEvent> pendingChanges;
+    private List<Long> pendingDeletions;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+            pendingDeletions = new ArrayList<>();
+        }
+        List<ProductSuggestion> suggestions;
+        try {
+            suggestions = ShardRouter.gather(shardRouter.getIfAvailable(), productRepository::findAllSuggestions);
+            suggestions.forEach(suggestion -> put(suggestion.getId(), suggestion.getName()));
+        } finally {
+            synchronized (this) {
+                pendingChanges.forEach(this::apply);
+                pendingDeletions.forEach(this::remove);
+                pendingChanges = null;
+                pendingDeletions = null;
+            }
+        }
+        log.info("Product suggest index built with {} entries", suggestions.size());
+    }
+
+    /**
+     * Retourne au plus {@code limit} produits dont le nom normalisé commence par le préfixe donné,
+     * dans l'ordre alphabétique.
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<ProductSuggestion> result = new ArrayList<>(Math.min(limit, 16));
+
+        for (Map.Entry<String, ProductSuggestion> entry : entries.tailMap(normalizedPrefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(normalizedPrefix) || result.size() >= limit) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        }
+        apply(event);
+    }
+
+    @EventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        // Les mises à jour de masse ne modifient pas les noms
+        if (event.getType() == ProductsBulkChangedEvent.Type.DELETED) {
+            synchronized (this) {
+                if (pendingDeletions != null) {
+                    pendingDeletions.addAll(event.getProductIds());
+                }
+            }
+            event.getProductIds().forEach(this::remove);
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.isDeletion()) {
+            remove(event.getProductId());
+            return;
+        }
+        ProductResponse current = event.getCurrent();
+        put(current.getId(), current.getName());
+    }
+
+    // Clé et entrée d'un même id modifiées sous le verrou de keysById pour cet id : pas d'entrée orpheline
+    // si deux renommages concurrents se croisent.
+    private void put(Long id, String name) {
+        String key = normalize(name) + KEY_SEPARATOR + id;
+        keysById.compute(id, (productId, previousKey) -> {
+            if (previousKey != null && !previousKey.equals(key)) {
+                entries.remove(previousKey);
+            }
+            entries.put(key, new ProductSuggestion(id, name));
+            return key;
+        });
+    }
+
+    private void remove(Long id) {
+        keysById.computeIfPresent(id, (productId, key) -> {
+            entries.remove(key);
+            return null;
+        });
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String withoutAccents = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACES.matcher(withoutAccents).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,161 @@
+package com.alshadows.product.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache LRU des réponses du catalogue public, déjà sérialisées en JSON et compressées en gzip : une réponse en cache
+ * est écrite telle quelle, sans requête SQL ni travail de Jackson. Clé : URL normalisée de la requête.
+ * Borné par la taille des octets gardés ; chaque réponse porte la {@link CatalogGeneration} lue avant son calcul
+ * et n'est plus servie dès qu'une écriture a été validée depuis. Les réponses en cache sont lues sans verrou
+ * ({@link WeightedLruMap}).
+ * Les URL de recherche et de filtre, en nombre illimité, passent par {@link #getFrequent} : elles ne sont mises en cache
+ * qu'une fois demandées au moins {@code min-hits} fois sur la fenêtre de {@link HotKeyTracker}, pour que les requêtes
+ * ponctuelles n'en chassent pas les pages fréquentes.
+ */
+@Component
+public class PublicCatalogCache {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 200;
+
+    /**
+     * Réponse prête à écrire : corps JSON, sa version gzip (null si le corps est trop petit pour y gagner)
+     * et son ETag, empreinte du corps JSON.
+     */
+    public record Response(byte[] json, byte[] gzip, String etag) {
+    }
+
+    private record LoadKey(String url, long generation) {
+    }
+
+    private final CatalogGeneration catalogGeneration;
+    private final RequestCoalescer requestCoalescer;
+    private final ObjectMapper objectMapper;
+    private final HotKeyTracker hotKeyTracker;
+    private final long maxWeight;
+    private final int gzipMinSize;
+    private final long minHits;
+
+    private final WeightedLruMap<String, Response> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PublicCatalogCache(CatalogGeneration catalogGeneration,
+                              RequestCoalescer requestCoalescer,
+                              ObjectMapper objectMapper,
+                              HotKeyTracker hotKeyTracker,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.catalog.public.max-weight:32MB}") DataSize maxWeight,
+                              @Value("${app.catalog.public.gzip-min-size:1KB}") DataSize gzipMinSize,
+                              @Value("${app.catalog.public.min-hits:2}") long minHits) {
+        this.catalogGeneration = catalogGeneration;
+        this.requestCoalescer = requestCoalescer;
+        this.objectMapper = objectMapper;
+        this.hotKeyTracker = hotKeyTracker;
+        this.maxWeight = maxWeight.toBytes();
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.minHits = minHits;
+        this.entries = new WeightedLruMap<>(this.maxWeight);
+        this.hits = Counter.builder("catalog.public.cache.requests")
+                .tag("result", "hit")
+                .description("Public catalog requests served from pre-serialized responses")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.public.cache.requests")
+                .tag("result", "miss")
+                .description("Public catalog requests serialized on demand")
+                .register(meterRegistry);
+        Gauge.builder("catalog.public.cache.weight", this, PublicCatalogCache::weight)
+                .baseUnit("bytes")
+                .description("Bytes held by cached public catalog responses")
+                .register(meterRegistry);
+        Gauge.builder("catalog.public.cache.size", this, PublicCatalogCache::size)
+                .description("Cached public catalog responses")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Réponse en cache pour cette URL si elle est encore à jour, sinon calcule le corps avec {@code body},
+     * le sérialise et le met en cache. Les requêtes concurrentes pour la même URL partagent un seul calcul ;
+     * les exceptions de {@code body} sont propagées sans rien mettre en cache.
+     */
+    public Response get(String url, Supplier<Object> body) {
+        return get(url, body, true);
+    }
+
+    /**
+     * Comme {@link #get}, mais la réponse calculée n'est mise en cache que si l'URL a été demandée
+     * au moins {@code min-hits} fois sur la fenêtre de {@link HotKeyTracker}.
+     */
+    public Response getFrequent(String url, Supplier<Object> body) {
+        hotKeyTracker.recordPublicQuery(url);
+        return get(url, body, hotKeyTracker.publicQueryCount(url) >= minHits);
+    }
+
+    private Response get(String url, Supplier<Object> body, boolean admit) {
+        long generation = catalogGeneration.current();
+        Response cached = entries.get(url, generation);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return requestCoalescer.execute(new LoadKey(url, generation), () -> load(url, body, generation, admit));
+    }
+
+    public long weight() {
+        return entries.weight();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Response load(String url, Supplier<Object> body, long loadGeneration, boolean admit) {
+        Response response = serialize(body.get());
+        long entryWeight = ENTRY_OVERHEAD_BYTES + url.length() * 2L + response.json().length
+                + (response.gzip() == null ? 0 : response.gzip().length);
+        if (!admit || entryWeight > maxWeight || loadGeneration != catalogGeneration.current()) {
+            return response;
+        }
+        entries.put(url, response, loadGeneration, entryWeight);
+        return response;
+    }
+
+    private Response serialize(Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize public catalog response", e);
+        }
+        byte[] gzip = json.length >= gzipMinSize ? gzip(json) : null;
+        if (gzip != null && gzip.length >= json.length) {
+            gzip = null;
+        }
+        return new Response(json, gzip, DigestUtils.md5DigestAsHex(json));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,79 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.exceptions.ProductException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Regroupe les appels concurrents identiques ("single flight") : le premier appelant exécute
+ * le chargement, les suivants attendent et partagent son résultat ou son exception.
+ * Un appelant qui attend plus longtemps que le délai configuré échoue en 503 sans lancer son propre chargement :
+ * un chargement partagé lent signale une base lente, que des requêtes supplémentaires chargeraient davantage.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public RequestCoalescer(@Value("${app.catalog.coalescing.timeout:5s}") Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing == null) {
+            return load(key, future, loader);
+        }
+
+        try {
+            return (T) existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Propage l'erreur du chargement partagé à tous les appelants en attente
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Coalesced request {} still running after {} ms, giving up", key, timeoutMillis);
+            throw new ProductException("Le chargement demandé n'a pas abouti à temps, réessayez plus tard",
+                    "REQUEST_TIMEOUT", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced request " + key, e);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private <T> T load(Object key, CompletableFuture<Object> future, Supplier<T> loader) {
+        try {
+            T result = loader.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Locale;
+
+/**
+ * Cache LRU des pages de résultats de recherche, borné par la mémoire estimée des pages plutôt que par leur nombre
+ * et lu sans verrou ({@link WeightedLruMap}).
+ * Clé : terme en minuscules (la recherche ignore la casse), numéro, taille et tri de la page.
+ * Chaque page porte la {@link CatalogGeneration} lue avant son chargement et n'est plus servie dès qu'une écriture
+ * a été validée depuis. Seuls les termes demandés au moins {@code min-hits} fois sur la fenêtre
+ * de {@link HotKeyTracker} sont mis en cache, pour que les recherches ponctuelles n'en chassent pas les termes fréquents.
+ */
+@Component
+public class SearchResultCache {
+
+    // Estimation grossière : en-tête d'objet et champs de ProductResponse, hors chaînes
+    private static final long PRODUCT_OVERHEAD_BYTES = 120;
+    private static final long PAGE_OVERHEAD_BYTES = 200;
+
+    private record Key(String term, Pageable pageable) {
+    }
+
+    private final CatalogGeneration catalogGeneration;
+    private final HotKeyTracker hotKeyTracker;
+    private final long maxWeight;
+    private final long minHits;
+
+    private final WeightedLruMap<Key, Page<ProductResponse>> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public SearchResultCache(CatalogGeneration catalogGeneration,
+                             HotKeyTracker hotKeyTracker,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.catalog.search-cache.max-weight:16MB}") DataSize maxWeight,
+                             @Value("${app.catalog.search-cache.min-hits:2}") long minHits) {
+        this.catalogGeneration = catalogGeneration;
+        this.hotKeyTracker = hotKeyTracker;
+        this.maxWeight = maxWeight.toBytes();
+        this.minHits = minHits;
+        this.entries = new WeightedLruMap<>(this.maxWeight);
+        this.hits = Counter.builder("catalog.search.cache.requests")
+                .tag("result", "hit")
+                .description("Search requests served from the search result cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.search.cache.requests")
+                .tag("result", "miss")
+                .description("Search requests loaded from the database")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.cache.weight", this, SearchResultCache::weight)
+                .baseUnit("bytes")
+                .description("Estimated memory held by cached search pages")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.cache.size", this, SearchResultCache::size)
+                .description("Cached search pages")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Page en cache pour ce terme si elle est encore à jour, sinon null.
+     */
+    public Page<ProductResponse> get(String term, Pageable pageable) {
+        Page<ProductResponse> page = entries.get(key(term, pageable), catalogGeneration.current());
+        if (page != null) {
+            hits.increment();
+            return page;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Génération à lire avant de charger une page, puis à passer à {@link #put}.
+     */
+    public long generation() {
+        return catalogGeneration.current();
+    }
+
+    /**
+     * Met en cache une page chargée pendant la génération {@code loadGeneration}, si elle est toujours courante
+     * et que le terme est assez demandé.
+     */
+    public void put(String term, Pageable pageable, Page<ProductResponse> page, long loadGeneration) {
+        if (loadGeneration != catalogGeneration.current()
+                || hotKeyTracker.searchTermCount(term) < minHits) {
+            return;
+        }
+        long pageWeight = weigh(page);
+        if (pageWeight > maxWeight) {
+            return;
+        }
+
+        entries.put(key(term, pageable), page, loadGeneration, pageWeight);
+    }
+
+    public long weight() {
+        return entries.weight();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static Key key(String term, Pageable pageable) {
+        return new Key(term.toLowerCase(Locale.ROOT), pageable);
+    }
+
+    private static long weigh(Page<ProductResponse> page) {
+        long bytes = PAGE_OVERHEAD_BYTES;
+        for (ProductResponse product : page.getContent()) {
+            bytes += PRODUCT_OVERHEAD_BYTES + stringBytes(product.getName()) + stringBytes(product.getDescription());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        // Objet String et tableau de caractères (Latin-1 ou UTF-16)
+        return value == null ? 0 : 40 + value.length() * 2L;
+    }
+}
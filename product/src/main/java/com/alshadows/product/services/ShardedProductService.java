@@ -0,0 +1,219 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardContext;
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.ProductDTO;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductStatsResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
+import com.alshadows.product.exceptions.ProductException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service produit sur des bases partitionnées ({@code app.datasource.sharding.enabled}), placé entre
+ * {@link CoalescingProductService} et {@link ProductServiceImpl} : chaque appel de {@link ProductServiceImpl}
+ * est une transaction sur une seule base. Les lectures et écritures par id vont sur la base codée dans l'id ;
+ * les listes et recherches interrogent toutes les bases et fusionnent leurs premières lignes.
+ * L'unicité des noms est assurée par {@link ProductNameRegistry}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.datasource.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedProductService implements ProductService {
+
+    private static final Comparator<String> CODE_POINT_ORDER = ShardedProductService::compareCodePoints;
+
+    private final ProductServiceImpl delegate;
+    private final ShardRouter shardRouter;
+    private final ProductNameRegistry nameRegistry;
+
+    @Override
+    public ProductResponse createProduct(ProductDTO productDto) {
+        int shard = shardRouter.nextShard();
+        long id = shardRouter.allocateId(shard);
+        if (!nameRegistry.reserve(productDto.getName(), id)) {
+            throw new ProductException(
+                    "Un produit avec le nom " + productDto.getName() + " existe déjà",
+                    "PRODUCT_ALREADY_EXISTS"
+            );
+        }
+        try {
+            return ShardContext.call(shard, id, () -> delegate.createProduct(productDto));
+        } catch (RuntimeException e) {
+            nameRegistry.release(productDto.getName(), id);
+            throw e;
+        }
+    }
+
+    @Override
+    public ProductResponse getProduct(Long id) {
+        return ShardContext.call(requireShard(id), () -> delegate.getProduct(id));
+    }
+
+    @Override
+    public ProductResponse updateProduct(Long id, ProductDTO productDto) {
+        int shard = requireShard(id);
+        String previousName = ShardContext.call(shard, () -> delegate.getProduct(id)).getName();
+        boolean renamed = !previousName.equals(productDto.getName());
+        if (renamed && !nameRegistry.reserve(productDto.getName(), id)) {
+            throw new ProductException(
+                    "Un produit avec le nom " + productDto.getName() + " existe déjà",
+                    "PRODUCT_NAME_ALREADY_EXISTS"
+            );
+        }
+        ProductResponse updated;
+        try {
+            updated = ShardContext.call(shard, () -> delegate.updateProduct(id, productDto));
+        } catch (RuntimeException e) {
+            if (renamed) {
+                nameRegistry.release(productDto.getName(), id);
+            }
+            throw e;
+        }
+        if (renamed) {
+            nameRegistry.release(previousName, id);
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteProduct(Long id) {
+        int shard = requireShard(id);
+        String name = ShardContext.call(shard, () -> delegate.getProduct(id)).getName();
+        ShardContext.run(shard, () -> delegate.deleteProduct(id));
+        nameRegistry.release(name, id);
+    }
+
+    @Override
+    public Page<ProductResponse> getAllProducts(Pageable pageable) {
+        return scatter(pageable, top -> delegate.getAllProducts(top));
+    }
+
+    @Override
+    public Page<ProductResponse> getProductsByPrice(Double minPrice, Double maxPrice, Pageable pageable) {
+        return scatter(pageable, top -> delegate.getProductsByPrice(minPrice, maxPrice, top));
+    }
+
+    @Override
+    public Page<ProductResponse> searchProducts(String searchTerm, Pageable pageable) {
+        return scatter(pageable, top -> delegate.searchProducts(searchTerm, top));
+    }
+
+    @Override
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        return delegate.suggestProducts(prefix, limit);
+    }
+
+    @Override
+    public ProductStatsResponse getProductStats() {
+        return delegate.getProductStats();
+    }
+
+    private int requireShard(Long id) {
+        int shard = shardRouter.shardOf(id);
+        if (shard < 0) {
+            throw new ProductException(
+                    "Produit non trouvé avec l'id: " + id,
+                    "PRODUCT_NOT_FOUND"
+            );
+        }
+        return shard;
+    }
+
+    /**
+     * Demande à chaque base les (page + 1) x size premières lignes dans l'ordre demandé puis par id,
+     * les fusionne et garde la page ; le total est la somme des totaux.
+     */
+    private Page<ProductResponse> scatter(Pageable pageable, Function<Pageable, Page<ProductResponse>> query) {
+        long rows = (long) (pageable.getPageNumber() + 1) * pageable.getPageSize();
+        if (rows > shardRouter.maxScatterRows()) {
+            throw new ProductException(
+                    "Page trop profonde : au plus " + shardRouter.maxScatterRows() + " produits peuvent être parcourus",
+                    "PAGE_TOO_DEEP"
+            );
+        }
+        // Départage par id sur chaque base aussi : les lignes à égalité en limite de page sont les mêmes qu'en Java
+        Sort sort = pageable.getSort().getOrderFor("id") != null
+                ? pageable.getSort()
+                : pageable.getSort().and(Sort.by("id"));
+        Comparator<ProductResponse> comparator = comparator(sort);
+        Pageable top = PageRequest.of(0, (int) rows, sort);
+
+        List<Page<ProductResponse>> pages = shardRouter.scatter(shard -> query.apply(top));
+        List<ProductResponse> merged = new ArrayList<>();
+        long total = 0;
+        for (Page<ProductResponse> page : pages) {
+            merged.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+        merged.sort(comparator);
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = (int) Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(List.copyOf(merged.subList(from, to)), pageable, total);
+    }
+
+    // Ordre de Postgres : nulls en dernier en croissant, en premier en décroissant ; textes en collation "C"
+    // sur les bases partitionnées (db/shard-schema.sql), c'est-à-dire par point de code
+    private static Comparator<ProductResponse> comparator(Sort sort) {
+        Comparator<ProductResponse> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<ProductResponse> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(ProductResponse::getId);
+                case "name" -> Comparator.comparing(ProductResponse::getName, nullsLast(order, CODE_POINT_ORDER));
+                case "description" -> Comparator.comparing(ProductResponse::getDescription,
+                        nullsLast(order, CODE_POINT_ORDER));
+                case "price" -> Comparator.comparing(ProductResponse::getPrice, nullsLast(order));
+                case "creationDate" -> Comparator.comparing(ProductResponse::getCreationDate, nullsLast(order));
+                case "updateDate" -> Comparator.comparing(ProductResponse::getUpdateDate, nullsLast(order));
+                default -> throw new ProductException("Tri non pris en charge : " + order.getProperty(), "INVALID_SORT");
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> nullsLast(Sort.Order order) {
+        Comparator<T> naturalOrder = Comparator.naturalOrder();
+        return nullsLast(order, naturalOrder);
+    }
+
+    private static <T> Comparator<T> nullsLast(Sort.Order order, Comparator<T> comparator) {
+        if (order.isIgnoreCase()) {
+            throw new ProductException("Tri insensible à la casse non pris en charge", "INVALID_SORT");
+        }
+        return Comparator.nullsLast(comparator);
+    }
+
+    // String.compareTo compare des unités UTF-16, qui placent les caractères hors du plan de base avant U+E000-U+FFFF
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int left = a.codePointAt(i);
+            int right = b.codePointAt(j);
+            if (left != right) {
+                return Integer.compare(left, right);
+            }
+            i += Character.charCount(left);
+            j += Character.charCount(right);
+        }
+        return Boolean.compare(i < a.length(), j < b.length());
+    }
+}
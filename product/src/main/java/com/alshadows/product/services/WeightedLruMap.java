@@ -0,0 +1,107 @@
+package com.alshadows.product.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table bornée par le poids estimé de ses valeurs, lue sans verrou, pour les caches invalidés par
+ * {@link CatalogGeneration} : chaque valeur porte la génération lue avant son calcul et n'est plus servie,
+ * puis est retirée, dès que la génération courante diffère.
+ * Comme dans {@link ProductCache}, une lecture ne fait que noter l'instant d'accès de son entrée ; au-delà du poids
+ * maximal, les entrées les moins récemment lues sont retirées par lot, sous un verrou propre à l'éviction.
+ */
+final class WeightedLruMap<K, V> {
+
+    // Part du poids maximal gardée après un dépassement, pour n'avoir à trier que rarement
+    private static final double EVICTION_TARGET = 0.9;
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long generation;
+        private final long weight;
+        private volatile long accessedAt;
+
+        private Entry(V value, long generation, long weight) {
+            this.value = value;
+            this.generation = generation;
+            this.weight = weight;
+            this.accessedAt = System.nanoTime();
+        }
+    }
+
+    // Instant d'accès figé pour le tri : accessedAt peut changer pendant celui-ci
+    private record Access<K, V>(K key, Entry<V> entry, long accessedAt) {
+    }
+
+    private final long maxWeight;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    WeightedLruMap(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Valeur de cette clé si elle a été calculée pendant {@code generation}, sinon null.
+     */
+    V get(K key, long generation) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.generation != generation) {
+            remove(key, entry);
+            return null;
+        }
+        entry.accessedAt = System.nanoTime();
+        return entry.value;
+    }
+
+    /**
+     * Ajoute ou remplace la valeur de cette clé, puis retire les moins récemment lues si le poids maximal est dépassé.
+     */
+    void put(K key, V value, long generation, long entryWeight) {
+        Entry<V> previous = entries.put(key, new Entry<>(value, generation, entryWeight));
+        weight.addAndGet(entryWeight - (previous == null ? 0 : previous.weight));
+        if (weight.get() > maxWeight) {
+            evict();
+        }
+    }
+
+    long weight() {
+        return weight.get();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            if (weight.get() <= maxWeight) {
+                return;
+            }
+            long target = (long) (maxWeight * EVICTION_TARGET);
+            List<Access<K, V>> accesses = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> accesses.add(new Access<>(key, entry, entry.accessedAt)));
+            accesses.sort(Comparator.comparingLong(Access::accessedAt));
+            for (Access<K, V> eldest : accesses) {
+                if (weight.get() <= target) {
+                    return;
+                }
+                remove(eldest.key(), eldest.entry());
+            }
+        }
+    }
+
+    // Retire l'entrée seulement si elle est toujours celle de la clé : son poids n'est décompté qu'une fois
+    private void remove(K key, Entry<V> entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight);
+        }
+    }
+}
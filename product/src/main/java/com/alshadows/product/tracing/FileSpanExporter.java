@@ -0,0 +1,66 @@
+package com.alshadows.product.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+import zipkin2.reporter.brave.MutableSpanBytesEncoder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Export des spans conservés dans un fichier local, un span Zipkin JSON v2 par ligne (importable dans Zipkin).
+ * Les spans sont encodés sur le thread de la requête puis écrits par lots par {@link #flush()} ;
+ * si l'écriture ne suit pas, la file est bornée et les nouveaux spans sont abandonnés.
+ */
+@Slf4j
+public class FileSpanExporter extends SpanHandler {
+
+    private final Path path;
+    private final BlockingQueue<byte[]> pending;
+
+    public FileSpanExporter(Path path, int queueCapacity) {
+        this.path = path;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (!pending.offer(MutableSpanBytesEncoder.JSON_V2.encode(span))) {
+            log.debug("Span export queue full, dropping span {}", span.id());
+        }
+        return true;
+    }
+
+    /**
+     * Écrit les spans en attente à la fin du fichier.
+     */
+    public synchronized void flush() {
+        List<byte[]> batch = new ArrayList<>(pending.size());
+        pending.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND))) {
+                for (byte[] span : batch) {
+                    out.write(span);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write {} spans to {}: {}", batch.size(), path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.alshadows.product.tracing;
+
+import brave.handler.SpanHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.TaskScheduler;
+import zipkin2.reporter.brave.AsyncZipkinSpanHandler;
+
+/**
+ * Échantillonnage des traces en fin de requête : toutes les requêtes sont tracées
+ * ({@code management.tracing.sampling.probability: 1.0}), mais seules les traces lentes, en erreur
+ * ou tirées au hasard sont exportées, vers un fichier local ou vers Zipkin.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.tail-sampling.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(TailSamplingProperties.class)
+public class TailSamplingConfig {
+
+    @Bean(destroyMethod = "flush")
+    @ConditionalOnProperty(name = "app.tracing.tail-sampling.exporter", havingValue = "file", matchIfMissing = true)
+    public FileSpanExporter fileSpanExporter(TailSamplingProperties properties, TaskScheduler taskScheduler) {
+        TailSamplingProperties.File file = properties.getFile();
+        FileSpanExporter exporter = new FileSpanExporter(file.getPath(), file.getQueueCapacity());
+        taskScheduler.scheduleWithFixedDelay(exporter::flush, file.getFlushInterval());
+        return exporter;
+    }
+
+    // Premier de la chaîne des SpanHandler de Brave : les handlers suivants ne reçoivent plus rien directement.
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public TailSamplingSpanHandler tailSamplingSpanHandler(TailSamplingProperties properties,
+                                                           ObjectProvider<FileSpanExporter> fileSpanExporter,
+                                                           ObjectProvider<AsyncZipkinSpanHandler> zipkinSpanHandler,
+                                                           MeterRegistry meterRegistry) {
+        SpanHandler exporter = switch (properties.getExporter()) {
+            case FILE -> fileSpanExporter.getObject();
+            case ZIPKIN -> zipkinSpanHandler.getObject();
+        };
+        return new TailSamplingSpanHandler(exporter, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.alshadows.product.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration de l'échantillonnage des traces en fin de requête (tail sampling).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tracing.tail-sampling")
+public class TailSamplingProperties {
+
+    public enum Exporter {
+        // Fichier local, une trace Zipkin JSON v2 par ligne
+        FILE,
+        // Collecteur Zipkin HTTP configuré sous management.zipkin.tracing
+        ZIPKIN
+    }
+
+    private boolean enabled = true;
+
+    // Une trace au moins aussi lente est conservée.
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    // Part des autres traces conservées, pour garder une référence du trafic normal.
+    private double baselineProbability = 0.01;
+
+    // Nombre de traces en cours gardées en mémoire ; au-delà, les plus anciennes sont abandonnées.
+    private int maxBufferedTraces = 2000;
+
+    private int maxSpansPerTrace = 256;
+
+    private Exporter exporter = Exporter.FILE;
+
+    private File file = new File();
+
+    @Getter
+    @Setter
+    public static class File {
+        private Path path = Path.of(System.getProperty("java.io.tmpdir"), "product-traces.jsonl");
+        private Duration flushInterval = Duration.ofSeconds(1);
+        // Spans en attente d'écriture ; au-delà, les nouveaux spans sont abandonnés.
+        private int queueCapacity = 10000;
+    }
+}
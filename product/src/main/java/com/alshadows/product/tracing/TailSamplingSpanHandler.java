@@ -0,0 +1,134 @@
+package com.alshadows.product.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Échantillonnage en fin de trace : tous les spans sont enregistrés (échantillonnage en tête à 100 %),
+ * mis en mémoire par trace locale, puis transmis à l'exporteur uniquement si la trace est lente,
+ * en erreur, ou tirée dans la part de référence. Les autres sont simplement oubliés à la fin du span racine :
+ * une requête rapide ne coûte que la mise en mémoire de ses spans.
+ * Placé en tête des SpanHandler, il retourne toujours {@code false} pour que les handlers suivants
+ * (export Zipkin auto-configuré) ne reçoivent que ce qu'il leur transmet.
+ */
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    private record BufferedSpan(TraceContext context, MutableSpan span) {
+    }
+
+    private final SpanHandler exporter;
+    private final long latencyThresholdMicros;
+    private final double baselineProbability;
+    private final int maxBufferedTraces;
+    private final int maxSpansPerTrace;
+
+    // Id de la racine locale -> spans déjà terminés de la trace, dans l'ordre d'arrivée des traces.
+    private final LinkedHashMap<Long, List<BufferedSpan>> traces = new LinkedHashMap<>();
+
+    private final Counter keptSlow;
+    private final Counter keptError;
+    private final Counter keptBaseline;
+    private final Counter dropped;
+    private final Counter evicted;
+
+    public TailSamplingSpanHandler(SpanHandler exporter, TailSamplingProperties properties, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.latencyThresholdMicros = properties.getLatencyThreshold().toNanos() / 1000;
+        this.baselineProbability = properties.getBaselineProbability();
+        this.maxBufferedTraces = properties.getMaxBufferedTraces();
+        this.maxSpansPerTrace = properties.getMaxSpansPerTrace();
+        this.keptSlow = decisionCounter(meterRegistry, "kept_slow");
+        this.keptError = decisionCounter(meterRegistry, "kept_error");
+        this.keptBaseline = decisionCounter(meterRegistry, "kept_baseline");
+        this.dropped = decisionCounter(meterRegistry, "dropped");
+        this.evicted = decisionCounter(meterRegistry, "evicted");
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return false;
+        }
+
+        boolean localRoot = context.spanId() == context.localRootId();
+        List<BufferedSpan> spans = localRoot ? complete(context, span) : buffer(context, span);
+        if (spans != null) {
+            for (BufferedSpan buffered : spans) {
+                exporter.end(buffered.context(), buffered.span(), Cause.FINISHED);
+            }
+        }
+        return false;
+    }
+
+    // Met le span en attente de la fin de la racine locale ; retourne toujours null.
+    private synchronized List<BufferedSpan> buffer(TraceContext context, MutableSpan span) {
+        List<BufferedSpan> spans = traces.get(context.localRootId());
+        if (spans == null) {
+            spans = new ArrayList<>();
+            traces.put(context.localRootId(), spans);
+            evictOldest();
+        }
+        if (spans.size() < maxSpansPerTrace) {
+            spans.add(new BufferedSpan(context, span));
+        }
+        return null;
+    }
+
+    // Décide du sort de la trace à la fin de sa racine locale : les spans à exporter, ou null.
+    private List<BufferedSpan> complete(TraceContext context, MutableSpan root) {
+        List<BufferedSpan> spans;
+        synchronized (this) {
+            spans = traces.remove(context.localRootId());
+        }
+        if (spans == null) {
+            spans = new ArrayList<>(1);
+        }
+        spans.add(new BufferedSpan(context, root));
+
+        if (root.finishTimestamp() - root.startTimestamp() >= latencyThresholdMicros) {
+            keptSlow.increment();
+        } else if (spans.stream().anyMatch(buffered -> isError(buffered.span()))) {
+            keptError.increment();
+        } else if (ThreadLocalRandom.current().nextDouble() < baselineProbability) {
+            keptBaseline.increment();
+        } else {
+            dropped.increment();
+            return null;
+        }
+        return spans;
+    }
+
+    private void evictOldest() {
+        Iterator<Map.Entry<Long, List<BufferedSpan>>> iterator = traces.entrySet().iterator();
+        while (traces.size() > maxBufferedTraces && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evicted.increment();
+        }
+    }
+
+    private static boolean isError(MutableSpan span) {
+        if (span.error() != null || span.tag("error") != null) {
+            return true;
+        }
+        // Observation HTTP de Spring : outcome=SERVER_ERROR pour les réponses 5xx
+        return "SERVER_ERROR".equals(span.tag("outcome"));
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("tracing.tail.sampling")
+                .tag("decision", decision)
+                .description("Traces kept or dropped by tail sampling")
+                .register(meterRegistry);
+    }
+}
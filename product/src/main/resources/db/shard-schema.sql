@@ -0,0 +1,25 @@
+-- Tables partitionnées, créées sur chaque base au démarrage (app.datasource.sharding.initialize-schema).
+-- Les ids des produits sont attribués par l'application (ShardIdAllocator), sans séquence propre à chaque base.
+-- Textes en collation "C" (ordre des points de code) : les listes triées par nom ou description sont fusionnées
+-- en Java (ShardedProductService), qui doit trier les lignes de chaque base dans le même ordre qu'elles.
+CREATE TABLE IF NOT EXISTS products (
+    id            BIGINT PRIMARY KEY,
+    name          VARCHAR(255) COLLATE "C",
+    description   VARCHAR(255) COLLATE "C",
+    price         FLOAT(53),
+    creation_date TIMESTAMP(6),
+    update_date   TIMESTAMP(6),
+    deleted       BOOLEAN DEFAULT FALSE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_products_name ON products (name);
+CREATE INDEX IF NOT EXISTS idx_products_price ON products (price);
+CREATE INDEX IF NOT EXISTS idx_products_creation_date ON products (creation_date);
+CREATE INDEX IF NOT EXISTS idx_products_update_date ON products (update_date);
+
+-- Table de routage des noms : unicité globale, chaque nom est sur la base hachage(nom) modulo le nombre de bases.
+-- reserved_at distingue une création en cours (produit pas encore validé) d'une réservation abandonnée.
+CREATE TABLE IF NOT EXISTS product_names (
+    name        VARCHAR(255) PRIMARY KEY,
+    product_id  BIGINT NOT NULL,
+    reserved_at TIMESTAMP(6) DEFAULT now() NOT NULL
+);
@@ -0,0 +1,133 @@
+package com.alshadows.product.benchmark;
+
+import com.alshadows.product.common.ApiResponse;
+import com.alshadows.product.common.PageResponse;
+import com.alshadows.product.common.StatusConstants;
+import com.alshadows.product.config.ProductResponseSerializer;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.mapper.ProductMapper;
+import com.alshadows.product.mapper.ProductMapperImpl;
+import com.alshadows.product.model.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare l'allocation d'une page de la liste des produits :
+ * entités + copie par le mapper + liens en HashMap + sérialisation par réflexion,
+ * contre projection directe + liens constants + {@link ProductResponseSerializer}.
+ * Les deux variantes construisent leurs objets à partir des mêmes valeurs, comme le ferait Hibernate
+ * à partir du ResultSet ; le coût propre aux entités gérées (EntityEntry, état chargé) n'est pas mesuré ici.
+ * <p>
+ * Lancement : mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductPageResponseBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductPageResponseBenchmark {
+
+    private static final Map<String, String> LIST_SELF_LINKS = Map.of("self", "/api/v1/products");
+
+    @Param({"10", "100"})
+    private int size;
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    // Sérialisation par réflexion (BeanSerializer), et avec le sérialiseur dédié de ProductResponse
+    private final ObjectMapper reflectiveMapper = objectMapper();
+    private final ObjectMapper leanMapper = objectMapper()
+            .registerModule(new SimpleModule().addSerializer(ProductResponse.class, new ProductResponseSerializer()));
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private Object[][] rows;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        rows = new Object[size][];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new Object[]{(long) i, "Produit " + i, "Description du produit " + i, 10.0 + i, now, now};
+        }
+    }
+
+    @Benchmark
+    public void entitiesMappedToResponses() throws IOException {
+        List<Product> entities = new ArrayList<>(size);
+        for (Object[] row : rows) {
+            Product product = new Product();
+            product.setId((Long) row[0]);
+            product.setName((String) row[1]);
+            product.setDescription((String) row[2]);
+            product.setPrice((Double) row[3]);
+            product.setCreationDate((LocalDateTime) row[4]);
+            product.setUpdateDate((LocalDateTime) row[5]);
+            entities.add(product);
+        }
+        Page<ProductResponse> page = new PageImpl<>(entities, PageRequest.of(0, size), size)
+                .map(productMapper::toResponse);
+
+        Map<String, String> links = new HashMap<>();
+        links.put("self", "/api/v1/products");
+        write(reflectiveMapper, page, links);
+    }
+
+    @Benchmark
+    public void projectedResponses() throws IOException {
+        List<ProductResponse> responses = new ArrayList<>(size);
+        for (Object[] row : rows) {
+            responses.add(new ProductResponse((Long) row[0], (String) row[1], (String) row[2],
+                    (Double) row[3], (LocalDateTime) row[4], (LocalDateTime) row[5]));
+        }
+        Page<ProductResponse> page = new PageImpl<>(responses, PageRequest.of(0, size), size);
+        write(leanMapper, page, LIST_SELF_LINKS);
+    }
+
+    private void write(ObjectMapper objectMapper, Page<ProductResponse> page, Map<String, String> links)
+            throws IOException {
+        ApiResponse<PageResponse<ProductResponse>> response = new ApiResponse<>(
+                StatusConstants.REQUEST_SUCCESS_STATUS,
+                StatusConstants.PRODUCT_FETCH_SUCCESS,
+                "Produits récupérés avec succès",
+                PageResponse.of(page),
+                links
+        );
+        objectMapper.writeValue(out, response);
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+}
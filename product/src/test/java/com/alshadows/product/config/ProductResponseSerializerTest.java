@@ -0,0 +1,45 @@
+package com.alshadows.product.config;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductResponseSerializerTest {
+
+    private final ObjectMapper reflectiveMapper = objectMapper();
+    private final ObjectMapper dedicatedMapper = objectMapper()
+            .registerModule(new SimpleModule().addSerializer(ProductResponse.class, new ProductResponseSerializer()));
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-01-31T10:15:30",
+            "2025-01-31T00:00:00.1",
+            "2025-12-01T23:59:59.123",
+            "2025-06-15T08:05:09.000450",
+            "0999-06-15T08:05:09.176387887",
+            "+12025-06-15T08:05:09.5"
+    })
+    void writesSameJsonAsReflectiveSerialization(String date) throws Exception {
+        ProductResponse product = new ProductResponse(42L, "Clavier \"mécanique\"", "Description",
+                19.99, LocalDateTime.parse(date), null);
+
+        assertThat(dedicatedMapper.writeValueAsString(product))
+                .isEqualTo(reflectiveMapper.writeValueAsString(product));
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+}
@@ -0,0 +1,65 @@
+package com.alshadows.product.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardIdAllocatorTest {
+
+    @Test
+    void idsAreUniqueIncreasingAndCarryTheirShard() {
+        ShardIdAllocator allocator = new ShardIdAllocator(3, 4);
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        // Plus d'ids que la séquence n'en permet par milliseconde
+        for (int i = 0; i < 5_000; i++) {
+            long id = allocator.nextId(2);
+            assertThat(id).isGreaterThan(previous);
+            assertThat(ShardIdAllocator.shardOf(id)).isEqualTo(2);
+            ids.add(id);
+            previous = id;
+        }
+        assertThat(ids).hasSize(5_000);
+    }
+
+    @Test
+    void exhaustedSequencesBorrowTheNextMillisecondEvenWhenTheClockGoesBack() {
+        AtomicLong clock = new AtomicLong(ShardIdAllocator.EPOCH_MILLIS + 10_000);
+        ShardIdAllocator allocator = new ShardIdAllocator(0, 1, clock::get);
+        long previous = allocator.nextId(0);
+        clock.addAndGet(-5_000);
+
+        // Horloge en arrière : la fin de la milliseconde lue, puis MAX_BORROWED_MILLIS millisecondes empruntées sans attente
+        for (int i = 1; i < 32 * (ShardIdAllocator.MAX_BORROWED_MILLIS + 1); i++) {
+            long id = allocator.nextId(0);
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThatThrownBy(() -> allocator.nextId(0)).isInstanceOf(IllegalStateException.class);
+
+        clock.addAndGet(10_000);
+        assertThat(allocator.nextId(0)).isGreaterThan(previous);
+    }
+
+    @Test
+    void idsStayExactInJavaScriptAndDifferBetweenNodes() {
+        long first = new ShardIdAllocator(0, 2).nextId(1);
+        long second = new ShardIdAllocator(1, 2).nextId(1);
+
+        assertThat(first).isNotEqualTo(second).isLessThan(1L << 53);
+        assertThat(ShardIdAllocator.shardOf(second)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNodeAndShardCountsThatDoNotFitTheId() {
+        assertThatThrownBy(() -> new ShardIdAllocator(ShardIdAllocator.MAX_NODES, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardIdAllocator(0, ShardIdAllocator.MAX_SHARDS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.alshadows.product.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Assertions de tests sur le nombre de requêtes SQL exécutées par un bloc de code,
+ * pour que l'ajout d'une requête (N+1, chargement paresseux) fasse échouer le build :
+ * <pre>{@code
+ * SqlStatementAssertions.assertMaxStatements(2, () -> productService.getAllProducts(pageable));
+ * }</pre>
+ * Le bloc doit s'exécuter sur le thread courant, avec une DataSource proxifiée par datasource-micrometer.
+ * Pour un test MockMvc, l'en-tête {@code X-Sql-Count} ({@code app.sql-stats.header-enabled=true}) donne la même mesure.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        SqlStatementStats stats = SqlStatementCounter.startKeepingStatements();
+        try {
+            T result = action.get();
+            if (stats.statements() > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements but "
+                        + stats.statements() + " were executed:\n  " + String.join("\n  ", stats.executed()));
+            }
+            return result;
+        } finally {
+            SqlStatementCounter.stop();
+        }
+    }
+
+    public static void assertMaxStatements(int max, Runnable action) {
+        assertMaxStatements(max, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
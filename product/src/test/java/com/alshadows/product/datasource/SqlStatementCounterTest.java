@@ -0,0 +1,109 @@
+package com.alshadows.product.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SqlStatementCounterTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter(true);
+
+    @Test
+    void countsStatementsRowsAndRepeatedQueries() {
+        SqlStatementStats stats = SqlStatementCounter.start();
+        try {
+            execute("select p from product p where p.id=?", 3);
+            execute("select p from product p where p.id=?", 2);
+            execute("select count(*) from product", 1);
+            fetchRows(4);
+        } finally {
+            SqlStatementCounter.stop();
+        }
+
+        assertThat(stats.statements()).isEqualTo(3);
+        assertThat(stats.rows()).isEqualTo(4);
+        assertThat(stats.elapsedMillis()).isEqualTo(6);
+        assertThat(stats.mostRepeated())
+                .isEqualTo(new SqlStatementStats.RepeatedStatement("select p from product p where p.id=?", 2));
+    }
+
+    @Test
+    void ignoresStatementsOutsideAMeasurement() {
+        execute("select 1", 1);
+
+        assertThat(SqlStatementCounter.current()).isNull();
+    }
+
+    @Test
+    void assertionFailsWithTheExecutedStatements() {
+        SqlStatementAssertions.assertMaxStatements(2, () -> execute("select 1", 1));
+
+        assertThatThrownBy(() -> SqlStatementAssertions.assertMaxStatements(1, () -> {
+            execute("select 1", 1);
+            execute("select 2", 1);
+        })).isInstanceOf(AssertionError.class).hasMessageContaining("select 2");
+    }
+
+    @Test
+    void measurementsOutsideTestsKeepOnlyCounts() {
+        SqlStatementStats stats = SqlStatementCounter.start();
+        try {
+            execute("select 1", 1);
+        } finally {
+            SqlStatementCounter.stop();
+        }
+
+        assertThat(stats.statements()).isEqualTo(1);
+        assertThat(stats.executed()).isEmpty();
+    }
+
+    @Test
+    void resultSetsAreProxiedOnlyWhenEnabled() {
+        ProxyDataSourceBuilder builder = mock(ProxyDataSourceBuilder.class);
+
+        new SqlStatementCounter(false).customize(builder, null, "dataSource", "dataSource");
+        verify(builder, never()).proxyResultSet();
+
+        counter.customize(builder, null, "dataSource", "dataSource");
+        verify(builder).proxyResultSet();
+    }
+
+    private void execute(String sql, long elapsedMillis) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(elapsedMillis);
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        counter.beforeQuery(execInfo, queries);
+        counter.afterQuery(execInfo, queries);
+    }
+
+    private void fetchRows(int rows) {
+        ResultSet resultSet = mock(ResultSet.class);
+        for (int i = 0; i <= rows; i++) {
+            counter.afterMethod(MethodExecutionContext.Builder.create()
+                    .target(resultSet)
+                    .method(next())
+                    .result(i < rows)
+                    .build());
+        }
+    }
+
+    private static Method next() {
+        try {
+            return ResultSet.class.getMethod("next");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.alshadows.product.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans d'exécution des requêtes de {@link ProductRepository} sur un catalogue synthétique de {@value #PRODUCTS} produits.
+ * Chaque requête SQL émise par Hibernate est capturée avec ses paramètres puis rejouée sous
+ * {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)} (dans une transaction annulée). Le test échoue si un plan
+ * parcourt séquentiellement plus de {@value #SEQ_SCAN_ROW_THRESHOLD} lignes sans que la référence l'autorise,
+ * ou si son coût estimé dépasse de plus de 25 % celui de la référence {@code query-plans/baseline.json}.
+ * Les plans sont écrits dans {@code target/query-plans} pour la revue.
+ * <p>
+ * Lancement : {@code mvn -Pquery-plans test}, sur un Postgres embarqué, ou sur une base dédiée existante
+ * avec {@code -Dquery-plan.jdbc-url=...} (tables recréées). {@code -Dquery-plan.update-baseline=true}
+ * réécrit la référence à partir des plans obtenus, en conservant les parcours séquentiels autorisés.
+ */
+@Tag("query-plan")
+// create et non create-drop : le contexte, mis en cache, n'est fermé qu'à l'arrêt de la JVM, après stopDatabase() ;
+// la suppression du schéma attendrait alors une connexion jusqu'à l'expiration du pool et bloquerait la sortie du fork
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ProductRepositoryQueryPlanTest.CapturingDataSourceConfig.class)
+class ProductRepositoryQueryPlanTest {
+
+    private static final int PRODUCTS = 200_000;
+    private static final long SEQ_SCAN_ROW_THRESHOLD = 10_000;
+    private static final double COST_TOLERANCE = 1.25;
+    private static final Path BASELINE = Path.of("src/test/resources/query-plans/baseline.json");
+    private static final Path PLANS = Path.of("target/query-plans");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final List<CapturedStatement> CAPTURED = new ArrayList<>();
+    private static EmbeddedPostgres embeddedPostgres;
+    private static boolean seeded;
+
+    private record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        String url = System.getProperty("query-plan.jdbc-url");
+        if (url == null) {
+            embeddedPostgres = EmbeddedPostgres.start();
+            url = embeddedPostgres.getJdbcUrl("postgres", "postgres");
+        }
+        String jdbcUrl = url;
+        registry.add("spring.datasource.url", () -> jdbcUrl);
+        registry.add("spring.datasource.username", () -> System.getProperty("query-plan.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("query-plan.password", "postgres"));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        // Noms uniques et triables, prix répartis sur 1000 valeurs, 2 % de produits supprimés logiquement
+        jdbcTemplate.update("""
+                INSERT INTO products (name, description, price, creation_date, update_date, deleted)
+                SELECT 'Produit ' || lpad(g::text, 7, '0'),
+                       'Description ' || md5(g::text),
+                       (g % 1000) + 0.99,
+                       timestamp '2024-01-01' + g * interval '1 minute',
+                       timestamp '2024-01-01' + ((g * 7919) % ?) * interval '1 minute',
+                       g % 50 = 0
+                FROM generate_series(1, ?) g
+                """, PRODUCTS, PRODUCTS);
+        jdbcTemplate.execute("ANALYZE products");
+        seeded = true;
+    }
+
+    @Test
+    void repositoryQueriesMatchTheBaselinePlans() throws Exception {
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+        cases.put("findById", () -> productRepository.findById(PRODUCTS / 2L));
+        cases.put("findAllById", () -> productRepository.findAllById(LongStream.rangeClosed(1, 500).boxed().toList()));
+        cases.put("existsByName", () -> productRepository.existsByName("Produit 0100001"));
+        for (String sort : List.of("id", "name", "price", "creationDate", "updateDate")) {
+            cases.put("findAllResponses[" + sort + "]",
+                    () -> productRepository.findAllResponses(PageRequest.of(50, 20, Sort.by(sort))));
+        }
+        cases.put("searchResponses", () -> productRepository.searchResponses("0012345", PageRequest.of(0, 20)));
+        cases.put("findIdsByFilter", () -> productRepository.findIdsByFilter(0, "produit 01", 10.0, 500.0, Limit.of(1000)));
+        cases.put("findAllSuggestions", () -> productRepository.findAllSuggestions());
+        cases.put("aggregatePrices", () -> productRepository.aggregatePrices());
+        cases.put("countByPrice", () -> productRepository.countByPrice());
+        List<Long> ids = LongStream.rangeClosed(1, 500).boxed().toList();
+        cases.put("deleteAllByIdIn", () -> productRepository.deleteAllByIdIn(ids));
+        cases.put("softDeleteAllByIdIn", () -> productRepository.softDeleteAllByIdIn(ids, LocalDateTime.now()));
+        cases.put("purgeSoftDeleted", () -> productRepository.purgeSoftDeleted(500));
+
+        boolean updateBaseline = Boolean.getBoolean("query-plan.update-baseline");
+        JsonNode baseline = Files.exists(BASELINE) ? MAPPER.readTree(BASELINE.toFile()) : MAPPER.createObjectNode();
+        ObjectNode updated = MAPPER.createObjectNode();
+        List<String> failures = new ArrayList<>();
+        Files.createDirectories(PLANS);
+
+        TransactionTemplate rollback = new TransactionTemplate(transactionManager);
+        for (Map.Entry<String, Runnable> testCase : cases.entrySet()) {
+            CAPTURED.clear();
+            rollback.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                testCase.getValue().run();
+            });
+            // Copie : les EXPLAIN passent eux aussi par la DataSource capturée
+            List<CapturedStatement> statements = List.copyOf(CAPTURED);
+            assertThat(statements).as(testCase.getKey()).isNotEmpty();
+
+            for (int i = 0; i < statements.size(); i++) {
+                String name = statements.size() == 1 ? testCase.getKey() : testCase.getKey() + "#" + (i + 1);
+                CapturedStatement statement = statements.get(i);
+                JsonNode plan = explain(statement);
+                Files.writeString(PLANS.resolve(name + ".json"),
+                        "-- " + statement.sql() + "\n" + MAPPER.writeValueAsString(plan));
+
+                JsonNode expected = baseline.path(name);
+                double cost = plan.path("Total Cost").asDouble();
+                String seqScan = largestSeqScan(plan);
+                String allowedSeqScan = expected.path("allowedSeqScan").asText(null);
+
+                ObjectNode entry = updated.putObject(name);
+                entry.put("totalCost", cost);
+                if (allowedSeqScan != null) {
+                    entry.put("allowedSeqScan", allowedSeqScan);
+                }
+                if (updateBaseline) {
+                    continue;
+                }
+                if (expected.isMissingNode()) {
+                    failures.add(name + ": no baseline (run with -Dquery-plan.update-baseline=true)");
+                    continue;
+                }
+                if (seqScan != null && allowedSeqScan == null) {
+                    failures.add(name + ": " + seqScan + "\n    " + statement.sql());
+                }
+                double expectedCost = expected.path("totalCost").asDouble();
+                if (cost > expectedCost * COST_TOLERANCE) {
+                    failures.add(name + ": cost " + cost + " exceeds baseline " + expectedCost + "\n    " + statement.sql());
+                }
+            }
+        }
+
+        if (updateBaseline) {
+            Files.writeString(BASELINE, MAPPER.writeValueAsString(updated) + "\n");
+        }
+        assertThat(failures).as("query plan regressions (plans in %s)", PLANS.toAbsolutePath()).isEmpty();
+    }
+
+    private JsonNode explain(CapturedStatement statement) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            // EXPLAIN ANALYZE exécute la requête : les modifications sont annulées
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql())) {
+                for (ParameterSetOperation operation : statement.parameters()) {
+                    Object[] args = operation.getArgs();
+                    if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+                        explain.setNull((Integer) args[0], (Integer) args[1]);
+                    } else {
+                        explain.setObject((Integer) args[0], args[1]);
+                    }
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return MAPPER.readTree(resultSet.getString(1)).get(0).get("Plan");
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    // Description du plus gros parcours séquentiel au-delà du seuil, ou null.
+    private static String largestSeqScan(JsonNode node) {
+        String largest = null;
+        long largestRows = SEQ_SCAN_ROW_THRESHOLD - 1;
+        List<JsonNode> pending = new ArrayList<>(List.of(node));
+        while (!pending.isEmpty()) {
+            JsonNode current = pending.remove(pending.size() - 1);
+            if ("Seq Scan".equals(current.path("Node Type").asText())) {
+                long rows = (current.path("Actual Rows").asLong() + current.path("Rows Removed by Filter").asLong())
+                        * Math.max(1, current.path("Actual Loops").asLong());
+                if (rows > largestRows) {
+                    largestRows = rows;
+                    largest = "Seq Scan on " + current.path("Relation Name").asText() + " reading " + rows + " rows";
+                }
+            }
+            current.path("Plans").forEach(pending::add);
+        }
+        return largest;
+    }
+
+    @TestConfiguration
+    static class CapturingDataSourceConfig {
+
+        // Proxy dédié au test : capture le texte SQL et les paramètres de chaque requête exécutée
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource).listener(new QueryExecutionListener() {
+                        @Override
+                        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                            for (QueryInfo query : queryInfoList) {
+                                List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                                        ? List.of() : query.getParametersList().get(0);
+                                CAPTURED.add(new CapturedStatement(query.getQuery(), List.copyOf(parameters)));
+                            }
+                        }
+
+                        @Override
+                        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                        }
+                    }).build();
+                }
+            };
+        }
+    }
+}
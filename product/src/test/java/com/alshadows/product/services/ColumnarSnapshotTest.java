@@ -0,0 +1,125 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarSnapshotTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 31, 10, 15, 30, 123_456_000);
+
+    private final Random random = new Random(42);
+
+    @Test
+    void pagesMatchANaiveSortAfterRandomWrites() {
+        TreeMap<Long, ProductResponse> expected = new TreeMap<>();
+        for (long id = 1; id <= 200; id++) {
+            expected.put(id, randomProduct(id));
+        }
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(new ArrayList<>(expected.values()));
+
+        // Lots de 1 à 20 écritures, plusieurs pouvant porter sur le même produit
+        for (int batch = 0; batch < 40; batch++) {
+            Map<Long, ProductResponse> changes = new HashMap<>();
+            for (int i = random.nextInt(20); i >= 0; i--) {
+                long id = 1 + random.nextInt(260);
+                ProductResponse product = random.nextInt(4) == 0 ? null : randomProduct(id);
+                changes.put(id, product);
+                if (product == null) {
+                    expected.remove(id);
+                } else {
+                    expected.put(id, product);
+                }
+            }
+            snapshot = snapshot.apply(changes);
+        }
+
+        assertThat(snapshot.size()).isEqualTo(expected.size());
+        for (ColumnarSnapshot.Field field : ColumnarSnapshot.Field.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                assertPages(snapshot, expected.values(), field, descending, null, null);
+                assertPages(snapshot, expected.values(), field, descending, 20.0, 60.0);
+                assertPages(snapshot, expected.values(), field, descending, null, 35.5);
+            }
+        }
+    }
+
+    @Test
+    void writtenDescriptionsShareTheLoadedStrings() {
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(List.of(
+                new ProductResponse(1L, "lamp", new String("warm light"), 10.0, START, null)));
+        Map<Long, ProductResponse> changes = new HashMap<>();
+        changes.put(2L, new ProductResponse(2L, "desk lamp", new String("warm light"), 20.0, START, null));
+
+        List<ProductResponse> read = snapshot.apply(changes)
+                .page(ColumnarSnapshot.Field.ID, false, null, null, 0, 10).content();
+
+        assertThat(read.get(1).getDescription()).isSameAs(read.get(0).getDescription());
+    }
+
+    @Test
+    void datesKeepTheirMicroseconds() {
+        ProductResponse product = new ProductResponse(7L, "lamp", null, null, START, null);
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(List.of(product));
+
+        ProductResponse read = snapshot.page(ColumnarSnapshot.Field.ID, false, null, null, 0, 10).content().get(0);
+
+        assertThat(read.getCreationDate()).isEqualTo(START);
+        assertThat(read.getUpdateDate()).isNull();
+        assertThat(read.getPrice()).isNull();
+    }
+
+    private void assertPages(ColumnarSnapshot snapshot, Iterable<ProductResponse> products,
+                             ColumnarSnapshot.Field field, boolean descending, Double minPrice, Double maxPrice) {
+        List<ProductResponse> sorted = new ArrayList<>();
+        for (ProductResponse product : products) {
+            boolean filtered = minPrice != null || maxPrice != null;
+            if (!filtered || (product.getPrice() != null
+                    && (minPrice == null || product.getPrice() >= minPrice)
+                    && (maxPrice == null || product.getPrice() <= maxPrice))) {
+                sorted.add(product);
+            }
+        }
+        // Nulls en dernier puis par id, ordre entier inversé en descendant
+        Comparator<ProductResponse> comparator = comparator(field).thenComparing(ProductResponse::getId);
+        sorted.sort(descending ? comparator.reversed() : comparator);
+
+        for (int page = 0; page * 7 <= sorted.size(); page++) {
+            ColumnarSnapshot.Slice slice = snapshot.page(field, descending, minPrice, maxPrice, page, 7);
+            assertThat(slice.total()).isEqualTo(sorted.size());
+            assertThat(slice.content()).extracting(ProductResponse::getId)
+                    .containsExactlyElementsOf(sorted.subList(page * 7, Math.min(sorted.size(), page * 7 + 7))
+                            .stream().map(ProductResponse::getId).toList());
+        }
+    }
+
+    private static Comparator<ProductResponse> comparator(ColumnarSnapshot.Field field) {
+        return switch (field) {
+            case ID -> Comparator.comparing(ProductResponse::getId);
+            case PRICE -> Comparator.comparing(ProductResponse::getPrice, Comparator.nullsLast(Comparator.naturalOrder()));
+            case CREATION_DATE -> Comparator.comparing(ProductResponse::getCreationDate,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case UPDATE_DATE -> Comparator.comparing(ProductResponse::getUpdateDate,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+        };
+    }
+
+    private ProductResponse randomProduct(long id) {
+        // Peu de valeurs distinctes pour multiplier les égalités, et quelques nulls
+        String name = random.nextInt(10) == 0 ? null : "product-" + random.nextInt(30);
+        Double price = random.nextInt(10) == 0 ? null : random.nextInt(160) / 2.0;
+        LocalDateTime created = START.plusSeconds(random.nextInt(50)).plusNanos(random.nextInt(1000) * 1000L);
+        LocalDateTime updated = random.nextInt(5) == 0 ? null : created.plusMinutes(random.nextInt(20));
+        return new ProductResponse(id, name, "description " + random.nextInt(3), price, created, updated);
+    }
+}
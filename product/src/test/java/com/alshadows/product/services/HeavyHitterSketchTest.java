@@ -0,0 +1,62 @@
+package com.alshadows.product.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHitterSketchTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final HeavyHitterSketch<Long> sketch =
+            new HeavyHitterSketch<>(4, 1024, 10, Duration.ofSeconds(60), clock::get);
+
+    @Test
+    void frequentKeysSurviveAmongManyRareOnes() {
+        for (long i = 0; i < 20_000; i++) {
+            sketch.record(1_000 + i);
+            if (i % 10 == 0) {
+                sketch.record(1L);
+            }
+            if (i % 20 == 0) {
+                sketch.record(2L);
+            }
+        }
+
+        List<HeavyHitterSketch.HeavyHitter<Long>> top = sketch.top(2);
+
+        assertThat(top).extracting(HeavyHitterSketch.HeavyHitter::key).containsExactly(1L, 2L);
+        assertThat(top.get(0).estimatedCount()).isBetween(2_000L, 2_300L);
+        assertThat(sketch.candidateCount()).isLessThanOrEqualTo(20);
+    }
+
+    @Test
+    void oldTrafficFadesOutOverTwoWindows() {
+        for (int i = 0; i < 100; i++) {
+            sketch.record(7L);
+        }
+
+        clock.set(Duration.ofSeconds(90).toNanos());
+        assertThat(sketch.estimate(7L)).isEqualTo(50);
+
+        clock.set(Duration.ofSeconds(150).toNanos());
+        assertThat(sketch.estimate(7L)).isZero();
+        assertThat(sketch.top(10)).isEmpty();
+    }
+
+    @Test
+    void keysWithTheSameHashCodeAreCountedApart() {
+        HeavyHitterSketch<String> terms = new HeavyHitterSketch<>(4, 1024, 10, Duration.ofSeconds(60), clock::get);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        for (int i = 0; i < 100; i++) {
+            terms.record("Aa");
+        }
+
+        assertThat(terms.estimate("Aa")).isEqualTo(100);
+        assertThat(terms.estimate("BB")).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.BulkDeleteRequest;
+import com.alshadows.product.dto.product.BulkRepriceRequest;
+import com.alshadows.product.events.ProductsBulkChangedEvent;
+import com.alshadows.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductBulkServiceImplTest {
+
+    private final ProductRepository repository = mock(ProductRepository.class);
+    private final List<Object> events = new ArrayList<>();
+    // Lots de deux ids, sans partitionnement
+    private final ProductBulkServiceImpl service = new ProductBulkServiceImpl(repository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), events::add, 2, "hard",
+            new StaticListableBeanFactory().getBeanProvider(ShardRouter.class));
+
+    @Test
+    void chunksCommittedBeforeAFailureAreAnnounced() {
+        when(repository.deleteAllByIdIn(anyCollection()))
+                .thenReturn(2)
+                .thenThrow(new QueryTimeoutException("timeout"));
+        BulkDeleteRequest request = new BulkDeleteRequest();
+        request.setIds(List.of(1L, 2L, 3L, 4L));
+
+        assertThatThrownBy(() -> service.deleteProducts(request)).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(events).singleElement().isInstanceOfSatisfying(ProductsBulkChangedEvent.class, event -> {
+            assertThat(event.getType()).isEqualTo(ProductsBulkChangedEvent.Type.DELETED);
+            assertThat(event.getProductIds()).containsExactly(1L, 2L);
+        });
+    }
+
+    @Test
+    void repricedChunksCommittedBeforeAFailureAreAnnounced() {
+        when(repository.updatePriceByIdIn(anyCollection(), anyDouble(), any()))
+                .thenReturn(2)
+                .thenThrow(new QueryTimeoutException("timeout"));
+        BulkRepriceRequest request = new BulkRepriceRequest();
+        request.setMode(BulkRepriceRequest.Mode.ABSOLUTE);
+        request.setValue(9.99);
+        request.setIds(List.of(4L, 3L, 2L, 1L));
+
+        assertThatThrownBy(() -> service.repriceProducts(request)).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(events).singleElement().isInstanceOfSatisfying(ProductsBulkChangedEvent.class, event -> {
+            assertThat(event.getType()).isEqualTo(ProductsBulkChangedEvent.Type.UPDATED);
+            assertThat(event.getProductIds()).containsExactly(1L, 2L);
+        });
+    }
+
+    @Test
+    void nothingIsAnnouncedWhenTheFirstChunkFails() {
+        when(repository.deleteAllByIdIn(anyCollection())).thenThrow(new QueryTimeoutException("timeout"));
+        BulkDeleteRequest request = new BulkDeleteRequest();
+        request.setIds(List.of(1L, 2L, 3L));
+
+        assertThatThrownBy(() -> service.deleteProducts(request)).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(events).isEmpty();
+    }
+}
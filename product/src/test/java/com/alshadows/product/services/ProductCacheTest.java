@@ -0,0 +1,55 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.events.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTest {
+
+    @Test
+    void entriesExpireAfterWrite() throws InterruptedException {
+        ProductCache cache = new ProductCache(10, Duration.ofMillis(50));
+        cache.putIfAbsent(product(1L), cache.generation());
+        assertThat(cache.get(1L)).isNotNull();
+
+        Thread.sleep(60);
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void leastRecentlyReadEntriesAreEvictedFirst() {
+        ProductCache cache = new ProductCache(10, Duration.ofMinutes(5));
+        for (long id = 1; id <= 10; id++) {
+            cache.putIfAbsent(product(id), cache.generation());
+        }
+        cache.get(1L);
+
+        cache.putIfAbsent(product(11L), cache.generation());
+
+        assertThat(cache.size()).isEqualTo(9);
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.hottestIds(2)).containsExactly(1L, 11L);
+    }
+
+    @Test
+    void loadsStartedBeforeADeletionAreNotCached() {
+        ProductCache cache = new ProductCache(10, Duration.ofMinutes(5));
+        long generation = cache.generation();
+        cache.onProductChanged(ProductChangedEvent.deleted(product(1L)));
+
+        cache.putIfAbsent(product(1L), generation);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    private static ProductResponse product(long id) {
+        return new ProductResponse(id, "product-" + id, null, 1.0, null, null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardIdAllocator;
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.datasource.ShardingProperties;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Réservations de noms sur une base Postgres embarquée, seule base de la partition.
+ */
+class ProductNameRegistryTest {
+
+    private static EmbeddedPostgres embeddedPostgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final ShardIdAllocator allocator = new ShardIdAllocator(0, 1);
+    private final ShardRouter router = new ShardRouter(1, allocator, 2, Duration.ofSeconds(5), 1000);
+    private final ProductNameRegistry registry =
+            new ProductNameRegistry(jdbcTemplate, router, new ShardingProperties());
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        embeddedPostgres = EmbeddedPostgres.start();
+        new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql"))
+                .execute(embeddedPostgres.getPostgresDatabase());
+        jdbcTemplate = new JdbcTemplate(embeddedPostgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        embeddedPostgres.close();
+    }
+
+    @AfterEach
+    void stopRouter() {
+        router.destroy();
+    }
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM product_names");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+
+    @Test
+    void concurrentCreatesOfTheSameNameReserveItOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                String name = "lamp-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> reservations = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    long id = allocator.nextId(0);
+                    reservations.add(executor.submit(() -> {
+                        start.await(5, TimeUnit.SECONDS);
+                        return registry.reserve(name, id);
+                    }));
+                }
+                start.countDown();
+
+                // Aucun des deux produits n'est encore écrit : la réservation récente de l'autre doit être respectée
+                int granted = 0;
+                for (Future<Boolean> reservation : reservations) {
+                    granted += reservation.get(5, TimeUnit.SECONDS) ? 1 : 0;
+                }
+                assertThat(granted).as(name).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void abandonedReservationsAreReclaimedAfterTheGracePeriod() {
+        long abandoned = allocator.nextId(0);
+        long next = allocator.nextId(0);
+        assertThat(registry.reserve("lamp", abandoned)).isTrue();
+
+        assertThat(registry.reserve("lamp", next)).isFalse();
+
+        jdbcTemplate.update("UPDATE product_names SET reserved_at = now() - interval '2 minutes'");
+        assertThat(registry.reserve("lamp", next)).isTrue();
+        assertThat(holder("lamp")).isEqualTo(next);
+    }
+
+    @Test
+    void namesOfExistingProductsAreKeptAndReleasedOnlyByTheirHolder() {
+        long owner = allocator.nextId(0);
+        long other = allocator.nextId(0);
+        assertThat(registry.reserve("lamp", owner)).isTrue();
+        jdbcTemplate.update("INSERT INTO products (id, name, price) VALUES (?, 'lamp', 1.0)", owner);
+        jdbcTemplate.update("UPDATE product_names SET reserved_at = now() - interval '2 minutes'");
+
+        assertThat(registry.reserve("lamp", other)).isFalse();
+        assertThat(registry.reserve("lamp", owner)).isTrue();
+
+        registry.release("lamp", other);
+        assertThat(holder("lamp")).isEqualTo(owner);
+        registry.release("lamp", owner);
+        assertThat(registry.reserve("lamp", other)).isTrue();
+    }
+
+    private static long holder(String name) {
+        return jdbcTemplate.queryForObject("SELECT product_id FROM product_names WHERE name = ?", Long.class, name);
+    }
+}
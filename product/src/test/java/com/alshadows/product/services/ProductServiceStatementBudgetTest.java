@@ -0,0 +1,138 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.SqlStatementAssertions;
+import com.alshadows.product.datasource.SqlStatementCounter;
+import com.alshadows.product.exceptions.ProductException;
+import com.alshadows.product.mapper.ProductMapperImpl;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Budget de requêtes SQL des lectures de {@link ProductServiceImpl} sur un Postgres embarqué : une requête
+ * supplémentaire (N+1, chargement paresseux, comptage en trop) fait échouer le build.
+ * Les pages comptent une requête de contenu et une de total.
+ */
+// create et non create-drop : le contexte, mis en cache, n'est fermé qu'à l'arrêt de la JVM, après stopDatabase()
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductServiceImpl.class, ProductMapperImpl.class, ProductServiceStatementBudgetTest.CountingDataSourceConfig.class})
+class ProductServiceStatementBudgetTest {
+
+    private static final int PRODUCTS = 30;
+
+    private static EmbeddedPostgres embeddedPostgres;
+    private static boolean seeded;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private ProductSuggestIndex productSuggestIndex;
+
+    @MockitoBean
+    private ProductStatistics productStatistics;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        embeddedPostgres = EmbeddedPostgres.start();
+        String url = embeddedPostgres.getJdbcUrl("postgres", "postgres");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        embeddedPostgres.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO products (name, description, price, creation_date, update_date, deleted) "
+                + "SELECT 'Lampe ' || g, 'Description ' || g, g * 2.5, now(), now(), false "
+                + "FROM generate_series(1, ?) g", PRODUCTS);
+        seeded = true;
+    }
+
+    @Test
+    void productDetailsTakeOneStatement() {
+        Long id = jdbcTemplate.queryForObject("SELECT min(id) FROM products", Long.class);
+
+        assertThat(SqlStatementAssertions.assertMaxStatements(1, () -> productService.getProduct(id)).getName())
+                .startsWith("Lampe");
+        SqlStatementAssertions.assertMaxStatements(1, () ->
+                assertThatThrownBy(() -> productService.getProduct(-1L)).isInstanceOf(ProductException.class));
+    }
+
+    @Test
+    void pagesTakeAContentAndACountStatement() {
+        PageRequest page = PageRequest.of(1, 10, Sort.by("price"));
+
+        assertThat(SqlStatementAssertions.assertMaxStatements(2, () -> productService.getAllProducts(page))
+                .getContent()).hasSize(10);
+        assertThat(SqlStatementAssertions.assertMaxStatements(2,
+                () -> productService.getProductsByPrice(10.0, 50.0, page)).getTotalElements()).isEqualTo(17);
+        assertThat(SqlStatementAssertions.assertMaxStatements(2,
+                () -> productService.searchProducts("lampe 1", PageRequest.of(0, 5))).getTotalElements()).isEqualTo(11);
+    }
+
+    @Test
+    void suggestionsAndStatisticsAreServedFromMemory() {
+        SqlStatementAssertions.assertMaxStatements(0, () -> productService.suggestProducts("lam", 5));
+        SqlStatementAssertions.assertMaxStatements(0, () -> productService.getProductStats());
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        // Même comptage que datasource-micrometer en production (requêtes et lignes), sans l'auto-configuration
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            SqlStatementCounter counter = new SqlStatementCounter(true);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .listener(counter)
+                            .methodListener(counter)
+                            .proxyResultSet()
+                            .build();
+                }
+            };
+        }
+    }
+}
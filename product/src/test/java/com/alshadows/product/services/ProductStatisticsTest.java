@@ -0,0 +1,102 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductStatsResponse;
+import com.alshadows.product.events.ProductChangedEvent;
+import com.alshadows.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductStatisticsTest {
+
+    private final ProductRepository repository = mock(ProductRepository.class);
+    // Tranches [0, 10), [10, 100), [100, ...)
+    private final ProductStatistics statistics = new ProductStatistics(repository, new double[]{0, 10, 100},
+            new StaticListableBeanFactory().getBeanProvider(ShardRouter.class));
+
+    @Test
+    void writesUpdateTheCounters() {
+        when(repository.countByPrice()).thenReturn(List.of());
+        statistics.run(null);
+
+        statistics.onProductChanged(ProductChangedEvent.created(product(1L, 5.0)));
+        statistics.onProductChanged(ProductChangedEvent.created(product(2L, 50.0)));
+        statistics.onProductChanged(ProductChangedEvent.created(product(3L, null)));
+        statistics.onProductChanged(ProductChangedEvent.updated(product(1L, 5.0), product(1L, 20.0)));
+        statistics.onProductChanged(ProductChangedEvent.deleted(product(2L, 50.0)));
+
+        ProductStatsResponse stats = statistics.getSnapshot();
+        assertThat(stats.getProductCount()).isEqualTo(2);
+        assertThat(stats.getMinPrice()).isEqualTo(20.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(20.0);
+        assertThat(stats.getAveragePrice()).isEqualTo(20.0);
+        assertThat(stats.getPriceHistogram()).extracting(ProductStatsResponse.PriceBucket::getCount)
+                .containsExactly(0L, 1L, 0L);
+    }
+
+    @Test
+    void writesReceivedDuringARebuildAreReplayed() {
+        when(repository.countByPrice()).thenAnswer(invocation -> {
+            // Validée pendant la requête d'agrégat, donc absente de son résultat
+            statistics.onProductChanged(ProductChangedEvent.created(product(9L, 150.0)));
+            return rows(new Object[]{5.0, 2L}, new Object[]{null, 1L});
+        });
+
+        statistics.run(null);
+
+        ProductStatsResponse stats = statistics.getSnapshot();
+        assertThat(stats.getProductCount()).isEqualTo(4);
+        assertThat(stats.getMinPrice()).isEqualTo(5.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(150.0);
+        assertThat(stats.getPriceHistogram()).extracting(ProductStatsResponse.PriceBucket::getCount)
+                .containsExactly(2L, 0L, 1L);
+        assertThat(stats.getLastReconciledAt()).isNotNull();
+    }
+
+    @Test
+    void unknownPricesAreNotRemovedAndReconcileKeepsConsistentCounters() {
+        when(repository.countByPrice()).thenReturn(rows(new Object[]{5.0, 1L}));
+        statistics.run(null);
+
+        // Suppression d'un prix que les compteurs ne connaissent pas : le nombre de prix reste juste
+        statistics.onProductChanged(ProductChangedEvent.deleted(product(7L, 7.0)));
+        when(repository.aggregatePrices()).thenReturn(rows(new Object[]{0L, 1L, 5.0, 5.0, 5.0}));
+
+        statistics.reconcile();
+
+        verify(repository, times(1)).countByPrice();
+        assertThat(statistics.getSnapshot().getMinPrice()).isEqualTo(5.0);
+    }
+
+    @Test
+    void reconcileRebuildsWhenTheDatabaseHasPricesTheCountersLack() {
+        when(repository.countByPrice()).thenReturn(List.of());
+        statistics.run(null);
+        when(repository.countByPrice()).thenReturn(rows(new Object[]{3.0, 1L}));
+        when(repository.aggregatePrices()).thenReturn(rows(new Object[]{1L, 1L, 3.0, 3.0, 3.0}));
+
+        statistics.reconcile();
+
+        verify(repository, times(2)).countByPrice();
+        assertThat(statistics.getSnapshot().getProductCount()).isEqualTo(1);
+        assertThat(statistics.getSnapshot().getMinPrice()).isEqualTo(3.0);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static ProductResponse product(Long id, Double price) {
+        return new ProductResponse(id, "product-" + id, null, price, null, null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.dto.product.ProductSuggestion;
+import com.alshadows.product.events.ProductChangedEvent;
+import com.alshadows.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.findAllSuggestions()).thenReturn(List.of(
+                new ProductSuggestion(1L, "Café moulu"),
+                new ProductSuggestion(2L, "Cafetière"),
+                new ProductSuggestion(3L, "Thé vert")
+        ));
+        // Sans partitionnement : aucun ShardRouter
+        index = new ProductSuggestIndex(repository, new StaticListableBeanFactory().getBeanProvider(ShardRouter.class));
+        index.run(null);
+    }
+
+    @Test
+    void suggestMatchesPrefixIgnoringCaseAndAccents() {
+        assertThat(index.suggest("CAFE", 10))
+                .extracting(ProductSuggestion::getName)
+                .containsExactly("Café moulu", "Cafetière");
+        assertThat(index.suggest("the", 10))
+                .extracting(ProductSuggestion::getId)
+                .containsExactly(3L);
+    }
+
+    @Test
+    void suggestHonoursLimit() {
+        assertThat(index.suggest("caf", 1)).hasSize(1);
+        assertThat(index.suggest("", 10)).isEmpty();
+        assertThat(index.suggest("caf", -1)).isEmpty();
+    }
+
+    @Test
+    void productChangesUpdateTheIndex() {
+        index.onProductChanged(ProductChangedEvent.updated(response(2L, "Cafetière"), response(2L, "Bouilloire")));
+        index.onProductChanged(ProductChangedEvent.deleted(response(1L, "Café moulu")));
+        index.onProductChanged(ProductChangedEvent.created(response(4L, "Café en grains")));
+
+        assertThat(index.suggest("caf", 10))
+                .extracting(ProductSuggestion::getName)
+                .containsExactly("Café en grains");
+        assertThat(index.suggest("bou", 10)).hasSize(1);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void changesDuringTheBuildAreReplayed() {
+        ProductRepository repository = mock(ProductRepository.class);
+        ProductSuggestIndex building =
+                new ProductSuggestIndex(repository, new StaticListableBeanFactory().getBeanProvider(ShardRouter.class));
+        // Suppression et renommage validés après la lecture des noms, avant leur ajout à l'index
+        when(repository.findAllSuggestions()).thenAnswer(invocation -> {
+            building.onProductChanged(ProductChangedEvent.deleted(response(1L, "Café moulu")));
+            building.onProductChanged(ProductChangedEvent.updated(response(2L, "Cafetière"), response(2L, "Bouilloire")));
+            return List.of(new ProductSuggestion(1L, "Café moulu"), new ProductSuggestion(2L, "Cafetière"));
+        });
+
+        building.run(null);
+
+        assertThat(building.suggest("caf", 10)).isEmpty();
+        assertThat(building.suggest("bou", 10)).extracting(ProductSuggestion::getId).containsExactly(2L);
+        assertThat(building.size()).isEqualTo(1);
+    }
+
+    private static ProductResponse response(Long id, String name) {
+        ProductResponse response = new ProductResponse();
+        response.setId(id);
+        response.setName(name);
+        return response;
+    }
+}
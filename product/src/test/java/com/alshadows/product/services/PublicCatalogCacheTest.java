@@ -0,0 +1,113 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.events.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicCatalogCacheTest {
+
+    private final CatalogGeneration catalogGeneration = new CatalogGeneration();
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker(Duration.ofMinutes(1), 4, 1024, 100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void responsesAreServedUntilTheCatalogChanges() {
+        PublicCatalogCache cache = cache(DataSize.ofMegabytes(1));
+
+        PublicCatalogCache.Response first = cache.get("/p?page=0", () -> body("lamp"));
+        PublicCatalogCache.Response second = cache.get("/p?page=0", () -> body("lamp"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+
+        catalogGeneration.onProductChanged(ProductChangedEvent.deleted(
+                new ProductResponse(1L, "lamp", null, 1.0, null, null)));
+        PublicCatalogCache.Response reloaded = cache.get("/p?page=0", () -> body("lamp"));
+
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.etag()).isEqualTo(first.etag());
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void largeBodiesAreGzippedAndSmallOnesAreNot() throws IOException {
+        PublicCatalogCache cache = cache(DataSize.ofMegabytes(1));
+
+        PublicCatalogCache.Response small = cache.get("/small", () -> body("lamp"));
+        PublicCatalogCache.Response large = cache.get("/large", () -> body("lamp ".repeat(500)));
+
+        assertThat(small.gzip()).isNull();
+        assertThat(large.gzip()).hasSizeLessThan(large.json().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(large.json());
+        }
+    }
+
+    @Test
+    void weightBoundsTheCache() {
+        PublicCatalogCache cache = cache(DataSize.ofBytes(600));
+
+        cache.get("/a", () -> body("lamp"));
+        cache.get("/b", () -> body("chair"));
+        cache.get("/c", () -> body("desk"));
+        cache.get("/d", () -> body("x".repeat(1000)));
+
+        assertThat(cache.weight()).isLessThanOrEqualTo(600);
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get("/a", () -> body("lamp"));
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void responsesReadRecentlySurviveEviction() {
+        // Environ 220 octets par réponse : la troisième dépasse la limite
+        PublicCatalogCache cache = cache(DataSize.ofBytes(600));
+
+        cache.get("/a", () -> body("lamp"));
+        cache.get("/b", () -> body("chair"));
+        cache.get("/a", () -> body("lamp"));
+        cache.get("/c", () -> body("desk"));
+        cache.get("/a", () -> body("lamp"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void filteredUrlsAreCachedOnlyOnceRequestedAgain() {
+        PublicCatalogCache cache = cache(DataSize.ofMegabytes(1));
+
+        // Une recherche ponctuelle n'occupe pas le cache
+        cache.getFrequent("/search?searchTerm=lamp", () -> body("lamp"));
+        assertThat(cache.size()).isZero();
+
+        PublicCatalogCache.Response second = cache.getFrequent("/search?searchTerm=lamp", () -> body("lamp"));
+        PublicCatalogCache.Response third = cache.getFrequent("/search?searchTerm=lamp", () -> body("lamp"));
+
+        assertThat(third).isSameAs(second);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(loads).hasValue(2);
+    }
+
+    private PublicCatalogCache cache(DataSize maxWeight) {
+        return new PublicCatalogCache(catalogGeneration, new RequestCoalescer(Duration.ofSeconds(1)),
+                new ObjectMapper(), hotKeyTracker, new SimpleMeterRegistry(), maxWeight, DataSize.ofBytes(1024), 2);
+    }
+
+    private Object body(String name) {
+        loads.incrementAndGet();
+        return Map.of("name", name);
+    }
+}
@@ -0,0 +1,107 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.exceptions.ProductException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+
+    @Test
+    void concurrentIdenticalCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8, task -> {
+            Thread worker = new Thread(task);
+            workers.add(worker);
+            return worker;
+        });
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> coalescer.execute("product-1", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+            // Le premier appelant attend release, les sept autres la future partagée : tous en attente bornée
+            while (workers.size() < 8
+                    || !workers.stream().allMatch(worker -> worker.getState() == Thread.State.TIMED_WAITING)) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(coalescer.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failuresArePropagatedAndNotRemembered() {
+        assertThatThrownBy(() -> coalescer.execute("product-2", () -> {
+            throw new ProductException("introuvable", "PRODUCT_NOT_FOUND");
+        })).isInstanceOf(ProductException.class);
+
+        assertThat(coalescer.execute("product-2", () -> "retry")).isEqualTo("retry");
+    }
+
+    @Test
+    void waitersGiveUpWithoutLoadingWhenTheSharedLoadIsTooSlow() throws Exception {
+        RequestCoalescer impatient = new RequestCoalescer(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> impatient.execute("product-3", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            }));
+            await(started);
+
+            assertThatThrownBy(() -> impatient.execute("product-3", () -> {
+                loads.incrementAndGet();
+                return "own load";
+            })).isInstanceOfSatisfying(ProductException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
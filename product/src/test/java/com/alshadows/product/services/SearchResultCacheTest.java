@@ -0,0 +1,113 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.events.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private final CatalogGeneration catalogGeneration = new CatalogGeneration();
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker(Duration.ofMinutes(1), 4, 1024, 100);
+    private final Pageable firstPage = PageRequest.of(0, 10);
+
+    @Test
+    void pagesAreServedUntilTheCatalogChanges() {
+        SearchResultCache cache = cache(DataSize.ofMegabytes(1));
+        search("Phone", 2);
+        cache.put("Phone", firstPage, page("phone"), cache.generation());
+
+        assertThat(cache.get("PHONE", firstPage)).isNotNull();
+
+        catalogGeneration.onProductChanged(ProductChangedEvent.deleted(product(1L, "phone")));
+        assertThat(cache.get("phone", firstPage)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void pagesExpireWithoutLocalWrites() {
+        SearchResultCache cache = cache(DataSize.ofMegabytes(1));
+        search("phone", 2);
+        cache.put("phone", firstPage, page("phone"), cache.generation());
+
+        catalogGeneration.expire();
+
+        assertThat(cache.get("phone", firstPage)).isNull();
+    }
+
+    @Test
+    void pagesLoadedBeforeAWriteAreNotCached() {
+        SearchResultCache cache = cache(DataSize.ofMegabytes(1));
+        search("phone", 2);
+        long generation = cache.generation();
+        catalogGeneration.onProductChanged(ProductChangedEvent.created(product(1L, "phone")));
+
+        cache.put("phone", firstPage, page("phone"), generation);
+
+        assertThat(cache.get("phone", firstPage)).isNull();
+    }
+
+    @Test
+    void rareTermsAreNotCachedAndWeightBoundsTheCache() {
+        SearchResultCache cache = cache(DataSize.ofBytes(1000));
+        search("once", 1);
+        cache.put("once", firstPage, page("once"), cache.generation());
+        assertThat(cache.size()).isZero();
+
+        search("phone", 2);
+        search("tablet", 2);
+        cache.put("phone", firstPage, page("phone"), cache.generation());
+        cache.put("tablet", firstPage, page("tablet"), cache.generation());
+
+        assertThat(cache.weight()).isLessThanOrEqualTo(1000);
+        assertThat(cache.get("tablet", firstPage)).isNotNull();
+        assertThat(cache.get("phone", firstPage)).isNull();
+    }
+
+    @Test
+    void pagesReadRecentlySurviveEviction() {
+        SearchResultCache cache = cache(DataSize.ofBytes(2000));
+        for (String term : List.of("phone", "tablet", "laptop")) {
+            search(term, 2);
+        }
+        cache.put("phone", firstPage, page("phone"), cache.generation());
+        cache.put("tablet", firstPage, page("tablet"), cache.generation());
+        assertThat(cache.get("phone", firstPage)).isNotNull();
+
+        cache.put("laptop", firstPage, page("laptop"), cache.generation());
+
+        assertThat(cache.get("tablet", firstPage)).isNull();
+        assertThat(cache.get("phone", firstPage)).isNotNull();
+        assertThat(cache.get("laptop", firstPage)).isNotNull();
+        assertThat(cache.weight()).isLessThanOrEqualTo(2000);
+    }
+
+    private SearchResultCache cache(DataSize maxWeight) {
+        return new SearchResultCache(catalogGeneration, hotKeyTracker, new SimpleMeterRegistry(), maxWeight, 2);
+    }
+
+    private void search(String term, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeyTracker.recordSearchTerm(term);
+        }
+    }
+
+    // Page d'environ 820 octets estimés
+    private static Page<ProductResponse> page(String term) {
+        return new PageImpl<>(List.of(product(1L, term), product(2L, term)));
+    }
+
+    private static ProductResponse product(Long id, String name) {
+        return new ProductResponse(id, name, "x".repeat(50), 10.0, null, null);
+    }
+}
@@ -0,0 +1,181 @@
+package com.alshadows.product.services;
+
+import com.alshadows.product.datasource.ShardContext;
+import com.alshadows.product.datasource.ShardIdAllocator;
+import com.alshadows.product.datasource.ShardRouter;
+import com.alshadows.product.dto.product.ProductDTO;
+import com.alshadows.product.dto.product.ProductResponse;
+import com.alshadows.product.exceptions.ProductException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardedProductServiceTest {
+
+    private final ShardIdAllocator allocator = new ShardIdAllocator(0, 2);
+    private final ShardRouter router = new ShardRouter(2, allocator, 2, Duration.ofSeconds(5), 100);
+    private final ProductServiceImpl delegate = mock(ProductServiceImpl.class);
+    private final ProductNameRegistry registry = mock(ProductNameRegistry.class);
+    private final ShardedProductService service = new ShardedProductService(delegate, router, registry);
+
+    // Hors du plan multilingue de base, l'ordre UTF-16 de String.compareTo diffère de celui des points de code
+    private static final String EMOJI = "\uD83D\uDCA1";
+    private static final String FULLWIDTH = "\uFF21";
+
+    // Contenu de chaque base : noms en casse mélangée, un nom absent
+    private final Map<Integer, List<ProductResponse>> shards = Map.of(
+            0, List.of(product(0, "apple", 3.0), product(0, "Zebra", 1.0), product(0, "banana", 2.0),
+                    product(0, null, 5.0), product(0, EMOJI, 6.0)),
+            1, List.of(product(1, "Apple", 4.0), product(1, "zebra", 2.0), product(1, "Banana", null),
+                    product(1, FULLWIDTH, 7.0)));
+
+    @AfterEach
+    void tearDown() {
+        router.destroy();
+    }
+
+    @Test
+    void mergedPagesFollowTheShardsCollation() {
+        when(delegate.getAllProducts(any())).thenAnswer(invocation -> shardPage(invocation.getArgument(0)));
+
+        // Collation "C" des bases : majuscules avant minuscules, points de code, nulls en dernier en croissant
+        assertThat(names(Sort.by("name")))
+                .containsExactly("Apple", "Banana", "Zebra", "apple", "banana", "zebra", FULLWIDTH, EMOJI, null);
+        assertThat(names(Sort.by(Sort.Direction.DESC, "name")))
+                .containsExactly(null, EMOJI, FULLWIDTH, "zebra", "banana", "apple", "Zebra", "Banana", "Apple");
+        assertThat(names(Sort.by("price")))
+                .containsExactly("Zebra", "banana", "zebra", "apple", "Apple", null, EMOJI, FULLWIDTH, "Banana");
+    }
+
+    @Test
+    void pagesBeyondTheScatterLimitAreRefused() {
+        assertThatThrownBy(() -> service.getAllProducts(PageRequest.of(10, 10)))
+                .isInstanceOfSatisfying(ProductException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo("PAGE_TOO_DEEP"));
+    }
+
+    @Test
+    void createsRunOnTheShardOfTheirIdAndReleaseTheNameOnFailure() {
+        when(registry.reserve(eq("lamp"), anyLong())).thenReturn(true);
+        List<Integer> shardsUsed = new ArrayList<>();
+        when(delegate.createProduct(any())).thenAnswer(invocation -> {
+            shardsUsed.add(ShardContext.current());
+            throw new IllegalStateException("insert failed");
+        });
+
+        assertThatThrownBy(() -> service.createProduct(dto("lamp"))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.createProduct(dto("lamp"))).isInstanceOf(IllegalStateException.class);
+
+        // Créations réparties à tour de rôle
+        assertThat(shardsUsed).containsExactlyInAnyOrder(0, 1);
+        verify(registry, times(2)).release(eq("lamp"), anyLong());
+    }
+
+    @Test
+    void takenNamesAreRefusedWithoutWriting() {
+        when(registry.reserve(anyString(), anyLong())).thenReturn(false);
+
+        assertThatThrownBy(() -> service.createProduct(dto("lamp")))
+                .isInstanceOfSatisfying(ProductException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo("PRODUCT_ALREADY_EXISTS"));
+        verify(delegate, never()).createProduct(any());
+    }
+
+    @Test
+    void renamesMoveTheReservationAndDeletesReleaseIt() {
+        long id = allocator.nextId(1);
+        when(delegate.getProduct(id)).thenReturn(new ProductResponse(id, "lamp", null, 1.0, null, null));
+        when(registry.reserve("desk lamp", id)).thenReturn(true);
+
+        service.updateProduct(id, dto("desk lamp"));
+        verify(registry).release("lamp", id);
+
+        service.deleteProduct(id);
+        verify(registry, times(2)).release("lamp", id);
+    }
+
+    @Test
+    void failedRenamesReleaseTheNewNameAndKeepTheOldOne() {
+        long id = allocator.nextId(0);
+        when(delegate.getProduct(id)).thenReturn(new ProductResponse(id, "lamp", null, 1.0, null, null));
+        when(registry.reserve("desk lamp", id)).thenReturn(true);
+        when(delegate.updateProduct(eq(id), any())).thenThrow(new IllegalStateException("update failed"));
+
+        assertThatThrownBy(() -> service.updateProduct(id, dto("desk lamp"))).isInstanceOf(IllegalStateException.class);
+
+        verify(registry).release("desk lamp", id);
+        verify(registry, never()).release("lamp", id);
+    }
+
+    // Pages successives d'une liste triée, jusqu'à la dernière
+    private List<String> names(Sort sort) {
+        List<String> names = new ArrayList<>();
+        Page<ProductResponse> page = service.getAllProducts(PageRequest.of(0, 3, sort));
+        page.getContent().forEach(product -> names.add(product.getName()));
+        while (page.hasNext()) {
+            page = service.getAllProducts(page.nextPageable());
+            page.getContent().forEach(product -> names.add(product.getName()));
+        }
+        return names;
+    }
+
+    // Ce que renverrait la base courante : ses lignes triées comme par Postgres en collation "C", puis la page
+    private Page<ProductResponse> shardPage(Pageable pageable) {
+        List<ProductResponse> rows = new ArrayList<>(shards.get(ShardContext.current()));
+        Comparator<ProductResponse> order = null;
+        for (Sort.Order sortOrder : pageable.getSort()) {
+            Comparator<ProductResponse> next = switch (sortOrder.getProperty()) {
+                case "id" -> Comparator.comparing(ProductResponse::getId);
+                case "name" -> Comparator.comparing(ProductResponse::getName,
+                        Comparator.nullsLast(ShardedProductServiceTest::compareUtf8));
+                case "price" -> Comparator.comparing(ProductResponse::getPrice,
+                        Comparator.nullsLast(Comparator.<Double>naturalOrder()));
+                default -> throw new IllegalArgumentException(sortOrder.getProperty());
+            };
+            next = sortOrder.isDescending() ? next.reversed() : next;
+            order = order == null ? next : order.thenComparing(next);
+        }
+        rows.sort(order);
+        int to = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(rows.subList((int) Math.min(pageable.getOffset(), to), to), pageable, rows.size());
+    }
+
+    private static int compareUtf8(String left, String right) {
+        return Arrays.compareUnsigned(left.getBytes(StandardCharsets.UTF_8), right.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ProductResponse product(int shard, String name, Double price) {
+        return new ProductResponse(allocator.nextId(shard), name, null, price, null, null);
+    }
+
+    private static ProductDTO dto(String name) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(name);
+        dto.setPrice(1.0);
+        return dto;
+    }
+}
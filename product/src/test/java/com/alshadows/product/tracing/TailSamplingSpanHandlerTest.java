@@ -0,0 +1,79 @@
+package com.alshadows.product.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanHandlerTest {
+
+    private final List<MutableSpan> exported = new CopyOnWriteArrayList<>();
+    private final Tracing tracing;
+    private final Tracer tracer;
+
+    TailSamplingSpanHandlerTest() {
+        TailSamplingProperties properties = new TailSamplingProperties();
+        properties.setLatencyThreshold(Duration.ofMillis(500));
+        properties.setBaselineProbability(0);
+        SpanHandler exporter = new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                exported.add(span);
+                return true;
+            }
+        };
+        tracing = Tracing.newBuilder()
+                .addSpanHandler(new TailSamplingSpanHandler(exporter, properties, new SimpleMeterRegistry()))
+                .build();
+        tracer = tracing.tracer();
+    }
+
+    @AfterEach
+    void close() {
+        tracing.close();
+    }
+
+    @Test
+    void fastTraceIsDropped() {
+        trace(100_000, false);
+
+        assertThat(exported).isEmpty();
+    }
+
+    @Test
+    void slowTraceIsExportedWithItsChildren() {
+        trace(600_000, false);
+
+        assertThat(exported).extracting(MutableSpan::name).containsExactly("query", "request");
+    }
+
+    @Test
+    void errorInChildSpanKeepsTheTrace() {
+        trace(100_000, true);
+
+        assertThat(exported).extracting(MutableSpan::name).containsExactly("query", "request");
+    }
+
+    // Trace d'une requête (durée en microsecondes) avec un span enfant terminé avant la racine.
+    private void trace(long durationMicros, boolean childError) {
+        long start = 1_000_000;
+        Span root = tracer.newTrace().name("request").start(start);
+        Span child = tracer.newChild(root.context()).name("query").start(start + 10);
+        if (childError) {
+            child.error(new IllegalStateException("connection refused"));
+        }
+        child.finish(start + 20);
+        root.finish(start + durationMicros);
+    }
+}